@@ -2,8 +2,10 @@ package app.focusx;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+@EnableCaching
 @SpringBootApplication
 public class Application {
 
@@ -0,0 +1,111 @@
+package app.focusx.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Reads from a bounded per-replica cache first and falls back to the shared cache.
+ * Every write goes to the shared cache and tells the other replicas to drop their local copy.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    @FunctionalInterface
+    public interface Invalidations {
+
+        /**
+         * @param key the evicted key, or {@code null} when the whole cache was cleared
+         */
+        void publish(String cacheName, @Nullable String key);
+    }
+
+    private final String name;
+    private final Cache shared;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Invalidations invalidations;
+
+    public TwoLevelCache(String name, Cache shared, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Invalidations invalidations) {
+        super(true);
+        this.name = name;
+        this.shared = shared;
+        this.local = local;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object storeValue = local.getIfPresent(localKey);
+
+        if (storeValue != null) {
+            return storeValue;
+        }
+
+        ValueWrapper wrapper = shared.get(key);
+
+        if (wrapper == null) {
+            return null;
+        }
+
+        storeValue = toStoreValue(wrapper.get());
+        local.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object storeValue = local.get(localKey(key), k -> toStoreValue(shared.get(key, valueLoader)));
+        return (T) fromStoreValue(storeValue);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        shared.put(key, value);
+        local.put(localKey(key), toStoreValue(value));
+        invalidations.publish(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        shared.evict(key);
+        local.invalidate(localKey(key));
+        invalidations.publish(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        local.invalidateAll();
+        invalidations.publish(name, null);
+    }
+
+    /**
+     * Drops the local copy after another replica changed the shared entry.
+     */
+    void evictLocal(@Nullable String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,93 @@
+package app.focusx.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every cache of the shared manager in a {@link TwoLevelCache} and relays invalidations
+ * between replicas over a Redis channel. Messages are {@code origin \n cacheName [\n key]};
+ * a replica ignores its own messages since its local copy is already up to date.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final CacheManager shared;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final long localMaxSize;
+    private final Duration localTtl;
+
+    public TwoLevelCacheManager(CacheManager shared, StringRedisTemplate redisTemplate, String channel,
+                                long localMaxSize, Duration localTtl) {
+        this.shared = shared;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return shared.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+
+        if (parts.length < 2 || origin.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+
+        if (cache != null) {
+            cache.evictLocal(parts.length == 3 ? parts[2] : null);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache sharedCache = shared.getCache(name);
+
+        if (sharedCache == null) {
+            throw new IllegalStateException("No shared cache named " + name);
+        }
+
+        return new TwoLevelCache(name, sharedCache,
+                Caffeine.newBuilder().maximumSize(localMaxSize).expireAfterWrite(localTtl).build(),
+                this::publish);
+    }
+
+    private void publish(String cacheName, @Nullable String key) {
+        String message = origin + "\n" + cacheName + (key == null ? "" : "\n" + key);
+
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Other replicas converge once their local entry expires.
+            log.warn("Failed to publish invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package app.focusx.config;
+
+import app.focusx.cache.TwoLevelCacheManager;
+import app.focusx.service.GoalService;
+import app.focusx.web.dto.GoalResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@Profile("!test")
+@EnableConfigurationProperties(GoalCacheProperties.class)
+public class CacheConfig {
+
+    private static final String KEY_PREFIX = "goal-service::";
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             GoalCacheProperties properties) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith(KEY_PREFIX)
+                .entryTtl(properties.getDefaultTtl())
+                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+
+        Map<String, RedisCacheConfiguration> perCache = new HashMap<>();
+        properties.getTtl().forEach((name, ttl) -> perCache.put(name, defaults.entryTtl(ttl)));
+        perCache.put(GoalService.TRACKED_CACHE, perCache.getOrDefault(GoalService.TRACKED_CACHE, defaults)
+                .serializeValuesWith(SerializationPair.fromSerializer(compact(GoalResponse.class))));
+
+        RedisCacheManager shared = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(perCache)
+                .build();
+        shared.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(shared, stringRedisTemplate, properties.getInvalidationChannel(),
+                properties.getLocalMaxSize(), properties.getLocalTtl());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager,
+                                                                            GoalCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, ChannelTopic.of(properties.getInvalidationChannel()));
+
+        return container;
+    }
+
+    // Values are stored without type metadata or default-valued fields, since each cache holds a single type.
+    static <T> RedisSerializer<T> compact(Class<T> type) {
+        ObjectMapper mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_DEFAULT)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        return new Jackson2JsonRedisSerializer<>(mapper, type);
+    }
+}
@@ -0,0 +1,37 @@
+package app.focusx.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "goal-cache")
+public class GoalCacheProperties {
+
+    /**
+     * Redis TTL for caches without an entry in {@link #ttl}.
+     */
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    /**
+     * Redis TTL per cache name.
+     */
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+
+    /**
+     * Entries kept in each replica's in-memory cache.
+     */
+    private long localMaxSize = 10_000;
+
+    /**
+     * Upper bound on how long a replica can serve a local entry whose invalidation it missed.
+     */
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    private String invalidationChannel = "goal-cache-invalidation";
+}
@@ -0,0 +1,26 @@
+package app.focusx.config;
+
+import app.focusx.messaging.producer.GoalProgressEventProducer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${kafka.topics.partitions}")
+    private int partitions;
+
+    @Value("${kafka.topics.replicas}")
+    private int replicas;
+
+    @Bean
+    public NewTopic goalProgressEventTopic() {
+        return TopicBuilder.name(GoalProgressEventProducer.TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package app.focusx.config;
+
+import app.focusx.model.Goal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.*;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+@Profile("!test")
+@Slf4j
+public class MongoIndexConfig {
+
+    private static final List<String> REQUIRED_GOAL_INDEXES = List.of(
+            Goal.USER_TYPE_COMPLETED_INDEX,
+            Goal.USER_TRACKED_INDEX
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        IndexOperations goalIndexOps = mongoTemplate.indexOps(Goal.class);
+        resolver.resolveIndexFor(Goal.class).forEach(goalIndexOps::ensureIndex);
+        goalIndexOps.ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .named(Goal.USER_TRACKED_INDEX)
+                .partial(PartialIndexFilter.of(Criteria.where("isTracked").is(true))));
+
+        verifyIndexes(goalIndexOps, REQUIRED_GOAL_INDEXES, "goal");
+    }
+
+    private void verifyIndexes(IndexOperations indexOps, List<String> required, String collection) {
+        Set<String> existing = indexOps.getIndexInfo()
+                .stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+
+        List<String> missing = required.stream()
+                .filter(name -> !existing.contains(name))
+                .toList();
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing indexes on " + collection + " collection: " + missing);
+        }
+
+        log.info("Verified {} indexes {}", collection, required);
+    }
+}
@@ -0,0 +1,8 @@
+package app.focusx.exception;
+
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
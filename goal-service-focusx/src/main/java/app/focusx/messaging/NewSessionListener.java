@@ -8,6 +8,10 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @Slf4j
 public class NewSessionListener {
@@ -20,13 +24,39 @@ public class NewSessionListener {
         this.objectMapper = objectMapper;
     }
 
-    @KafkaListener(topics = "new-session-event", groupId = "goal-service")
-    public void listen(ConsumerRecord<String, String> record) {
-        try {
-            SessionEvent event = objectMapper.readValue(record.value(), SessionEvent.class);
-            goalService.updateGoals(event.getUserId(), event.getMinutes(), event.isUpdateStreak());
-        } catch (Exception e) {
-            log.error("Error handling new session event", e);
+    // One goal update per user and poll, however many of their sessions the poll carries.
+    @KafkaListener(topics = "new-session-event", groupId = "goal-service", concurrency = "${kafka.listener.concurrency:3}", batch = "true")
+    public void listen(List<ConsumerRecord<String, String>> records) {
+        Map<String, SessionEvent> eventsByUser = new LinkedHashMap<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                SessionEvent event = objectMapper.readValue(record.value(), SessionEvent.class);
+                eventsByUser.merge(event.getUserId(), event, NewSessionListener::combine);
+            } catch (Exception e) {
+                log.error("Error reading new session event at offset {}", record.offset(), e);
+            }
         }
+
+        eventsByUser.forEach((userId, event) -> {
+            try {
+                goalService.updateGoals(userId, event.getMinutes(), event.isUpdateStreak());
+            } catch (Exception e) {
+                log.error("Error handling new session events for user {}", userId, e);
+            }
+        });
+    }
+
+    private static SessionEvent combine(SessionEvent first, SessionEvent second) {
+        SessionEvent combined = new SessionEvent();
+        combined.setUserId(first.getUserId());
+        combined.setMinutes(minutesOf(first) + minutesOf(second));
+        combined.setUpdateStreak(first.isUpdateStreak() || second.isUpdateStreak());
+
+        return combined;
+    }
+
+    private static long minutesOf(SessionEvent event) {
+        return event.getMinutes() != null ? event.getMinutes() : 0;
     }
 }
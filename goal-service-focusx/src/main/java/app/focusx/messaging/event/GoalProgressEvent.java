@@ -0,0 +1,38 @@
+package app.focusx.messaging.event;
+
+import app.focusx.model.Goal;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class GoalProgressEvent {
+    private String userId;
+    // Only the goals whose progress changed, with their new values.
+    private List<GoalProgress> goals;
+
+    public GoalProgressEvent(String userId, List<GoalProgress> goals) {
+        this.userId = userId;
+        this.goals = goals;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class GoalProgress {
+        private String goalId;
+        private long progress;
+        private boolean completed;
+
+        public GoalProgress(String goalId, long progress, boolean completed) {
+            this.goalId = goalId;
+            this.progress = progress;
+            this.completed = completed;
+        }
+
+        public static GoalProgress of(Goal goal) {
+            return new GoalProgress(goal.getId(), goal.getProgress(), goal.isCompleted());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package app.focusx.messaging.producer;
+
+import app.focusx.messaging.event.GoalProgressEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class GoalProgressEventProducer {
+
+    public static final String TOPIC = "goal-progress-event";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    public GoalProgressEventProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // Best effort: the goals are already updated, so a lost event only means subscribers re-query.
+    public void send(GoalProgressEvent event) {
+        try {
+            kafkaTemplate.send(TOPIC, event.getUserId(), objectMapper.writeValueAsString(event))
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.warn("Failed to publish goal progress for user {}", event.getUserId(), e);
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize goal progress for user {}", event.getUserId(), e);
+        }
+    }
+}
@@ -5,15 +5,22 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Document
 @Data
 @SuperBuilder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@CompoundIndex(name = Goal.USER_TYPE_COMPLETED_INDEX, def = "{'userId': 1, 'type': 1, 'isCompleted': 1, 'createdAt': 1, '_id': 1}")
 public class Goal {
 
+    public static final String USER_TYPE_COMPLETED_INDEX = "user_type_completed";
+    public static final String USER_TRACKED_INDEX = "user_tracked";
+
     @Id
     private String id;
 
@@ -28,4 +35,5 @@ public class Goal {
     private String reward;
     private boolean isCompleted;
     private boolean isTracked;
+    private Instant createdAt;
 }
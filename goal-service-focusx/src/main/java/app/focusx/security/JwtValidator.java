@@ -1,25 +1,93 @@
 package app.focusx.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 
+/**
+ * Verifies access tokens with a single, thread-safe parser. Verified claims are cached under the
+ * SHA-256 digest of the token until the token's {@code exp}, so a token presented again skips the
+ * RSA signature check. Hits and misses are published as {@code cache.gets{cache=jwt.claims}}.
+ */
 @Component
 public class JwtValidator {
 
-    private final RSAPublicKey publicKey;
+    static final String CACHE_NAME = "jwt.claims";
 
-    public JwtValidator(RSAPublicKey publicKey) {
-        this.publicKey = publicKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedClaims;
+
+    public JwtValidator(RSAPublicKey publicKey, MeterRegistry meterRegistry, @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.parser = Jwts.parser()
+                .verifyWith(publicKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, CACHE_NAME);
     }
 
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String digest = digest(token);
+
+        Claims claims = verifiedClaims.getIfPresent(digest);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parser.parseSignedClaims(token).getPayload();
+
+        // Tokens without exp are verified on every call rather than cached forever.
+        if (claims.getExpiration() != null) {
+            verifiedClaims.put(digest, claims);
+        }
+
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
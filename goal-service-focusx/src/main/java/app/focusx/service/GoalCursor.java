@@ -0,0 +1,38 @@
+package app.focusx.service;
+
+import app.focusx.exception.InvalidCursorException;
+import app.focusx.model.Goal;
+
+import java.time.Instant;
+
+/**
+ * Position of the last goal on a page, sent to clients as {@code createdAtMillis:id}.
+ * Goals created before {@code createdAt} was recorded have an empty timestamp and sort first.
+ */
+record GoalCursor(Instant createdAt, String id) {
+
+    static GoalCursor of(Goal goal) {
+        return new GoalCursor(goal.getCreatedAt(), goal.getId());
+    }
+
+    static GoalCursor decode(String cursor) {
+        int separator = cursor.indexOf(':');
+
+        if (separator < 0 || separator == cursor.length() - 1) {
+            throw new InvalidCursorException("Invalid cursor " + cursor);
+        }
+
+        String millis = cursor.substring(0, separator);
+
+        try {
+            return new GoalCursor(millis.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(millis)),
+                    cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor " + cursor);
+        }
+    }
+
+    String encode() {
+        return (createdAt == null ? "" : String.valueOf(createdAt.toEpochMilli())) + ":" + id;
+    }
+}
@@ -1,16 +1,33 @@
 package app.focusx.service;
 
+import app.focusx.messaging.event.GoalProgressEvent;
+import app.focusx.messaging.event.GoalProgressEvent.GoalProgress;
+import app.focusx.messaging.producer.GoalProgressEventProducer;
 import app.focusx.model.Goal;
 import app.focusx.model.GoalType;
 import app.focusx.repository.GoalRepository;
 import app.focusx.web.dto.CreateGoalRequest;
+import app.focusx.web.dto.GoalPage;
 import app.focusx.web.dto.GoalResponse;
 import app.focusx.web.mapper.DtoMapper;
-import org.springframework.cache.annotation.CacheEvict;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,53 +35,116 @@ import java.util.UUID;
 @Service
 public class GoalService {
 
+    public static final String TRACKED_CACHE = "tracked";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final GoalRepository goalRepository;
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final GoalProgressEventProducer goalProgressEventProducer;
 
-    public GoalService(GoalRepository goalRepository) {
+    public GoalService(GoalRepository goalRepository, MongoTemplate mongoTemplate, CacheManager cacheManager,
+                       GoalProgressEventProducer goalProgressEventProducer) {
         this.goalRepository = goalRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.goalProgressEventProducer = goalProgressEventProducer;
     }
 
     public Goal create(String userId, CreateGoalRequest request) {
         return goalRepository.save(initializeGoal(userId, request));
     }
 
-    public List<GoalResponse> getAll(String userId) {
-        return goalRepository.findAllByUserId(userId)
-                .stream()
-                .map(DtoMapper::mapGoalToGoalResponse)
-                .toList();
+    // Keyset pagination in creation order, with _id breaking ties. Unset filters become $in over every value,
+    // so each page is a bounded merge over the user_type_completed index instead of a scan of all the user's
+    // goals. Without a limit or cursor every goal is returned, as before paging existed.
+    public GoalPage getPage(String userId, GoalType type, Boolean completed, String cursor, Integer limit) {
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        boolean paged = hasCursor || limit != null;
+        int pageSize = Math.clamp(limit != null ? limit : DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+
+        Criteria criteria = Criteria.where("userId").is(userId)
+                .and("type").in(type != null ? List.of(type) : List.of(GoalType.values()))
+                .and("isCompleted").in(completed != null ? List.of(completed) : List.of(false, true));
+
+        if (hasCursor) {
+            criteria.orOperator(after(GoalCursor.decode(cursor)));
+        }
+
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"));
+        if (paged) {
+            query.limit(pageSize + 1);
+        }
+        query.fields().include("title", "type", "progress", "reward", "sets", "duration", "days", "isTracked", "createdAt");
+
+        List<Goal> goals = mongoTemplate.find(query, Goal.class);
+        boolean hasMore = paged && goals.size() > pageSize;
+        List<Goal> page = hasMore ? goals.subList(0, pageSize) : goals;
+
+        return GoalPage.builder()
+                .goals(page.stream().map(DtoMapper::mapGoalToGoalResponse).toList())
+                .nextCursor(hasMore ? GoalCursor.of(page.getLast()).encode() : null)
+                .build();
+    }
+
+    private static Criteria[] after(GoalCursor cursor) {
+        if (cursor.createdAt() == null) {
+            return new Criteria[]{
+                    Criteria.where("createdAt").ne(null),
+                    Criteria.where("createdAt").is(null).and("_id").gt(cursor.id())
+            };
+        }
+
+        return new Criteria[]{
+                Criteria.where("createdAt").gt(cursor.createdAt()),
+                Criteria.where("createdAt").is(cursor.createdAt()).and("_id").gt(cursor.id())
+        };
     }
 
     public void deleteById(String goalId) {
-        goalRepository.deleteById(goalId);
+        Goal deleted = mongoTemplate.findAndRemove(Query.query(Criteria.where("_id").is(goalId)), Goal.class);
+
+        if (deleted != null && deleted.isTracked()) {
+            trackedGoals().evict(deleted.getUserId());
+        }
     }
 
 
-    @Transactional
     public void updateGoals(String userId, Long minutes, boolean updateStreak) {
-        addMinutesToTrackedGoal(userId, minutes);
+        List<GoalProgress> changed = new ArrayList<>();
+        addMinutesToTrackedGoal(userId, minutes).ifPresent(goal -> changed.add(GoalProgress.of(goal)));
+
+        if (updateStreak) changed.addAll(updateStreakGoals(userId));
 
-        if (updateStreak) updateStreakGoal(userId);
+        if (!changed.isEmpty()) {
+            goalProgressEventProducer.send(new GoalProgressEvent(userId, changed));
+        }
     }
 
-    @Transactional
-    @CacheEvict(value = "tracked", allEntries = true)
+    // Only the owner's entry changes: it is overwritten with the newly tracked goal.
     public void trackGoal(String goalId) {
-        Optional<Goal> optionalTrackedGoal = goalRepository.findByIsTrackedTrue();
+        Optional<Goal> optionalGoal = goalRepository.findById(goalId);
 
-        if (optionalTrackedGoal.isPresent()) {
-            Goal goal = optionalTrackedGoal.get();
-            goal.setTracked(false);
-            goalRepository.save(goal);
+        if (optionalGoal.isEmpty()) {
+            return;
         }
 
-        goalRepository.findById(goalId).ifPresent(goal -> {
-            goal.setTracked(true);
-            goalRepository.save(goal);
-        });
+        String userId = optionalGoal.get().getUserId();
+        Query previouslyTracked = Query.query(Criteria.where("userId").is(userId)
+                .and("isTracked").is(true)
+                .and("_id").ne(goalId));
+        mongoTemplate.updateMulti(previouslyTracked, Update.update("isTracked", false), Goal.class);
+
+        Goal tracked = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(goalId)),
+                Update.update("isTracked", true), FindAndModifyOptions.options().returnNew(true), Goal.class);
+
+        if (tracked != null) {
+            trackedGoals().put(userId, DtoMapper.mapGoalToGoalResponse(tracked));
+        }
     }
 
-    @Cacheable(value = "tracked", key = "#userId")
+    @Cacheable(value = TRACKED_CACHE, key = "#userId")
     public GoalResponse getTrackingGoalByUserId(String userId) {
         Optional<Goal> optionalGoal = goalRepository.findByUserIdAndIsTrackedTrue(userId);
 
@@ -76,37 +156,72 @@ public class GoalService {
         }
     }
 
-    private void updateStreakGoal(String userId) {
-        List<Goal> goals = goalRepository.getByUserIdAndTypeAndIsCompleted(userId, GoalType.STREAK, false);
+    private List<GoalProgress> updateStreakGoals(String userId) {
+        Query openStreakGoals = Query.query(openStreakGoalsOf(userId));
+        openStreakGoals.fields().include("progress", "days");
+        List<Goal> goals = mongoTemplate.find(openStreakGoals, Goal.class);
 
-        goals.forEach(goal -> {
-            goal.setProgress(goal.getProgress() + 1);
+        if (goals.isEmpty()) {
+            return List.of();
+        }
 
-            if (goal.getProgress() == goal.getDays()) {
-                goal.setCompleted(true);
-            }
+        List<String> goalIds = goals.stream().map(Goal::getId).toList();
+        UpdateResult result = mongoTemplate.updateMulti(Query.query(openStreakGoalsOf(userId).and("_id").in(goalIds)),
+                addProgress(1, ComparisonOperators.valueOf("progress").greaterThanEqualTo("days")), Goal.class);
 
-            goalRepository.save(goal);
-        });
+        if (result.getModifiedCount() == 0) {
+            return List.of();
+        }
 
+        // The tracked goal may be one of them; an evicted entry is reloaded on the next read.
+        trackedGoals().evict(userId);
 
+        // Reported as stored after the update, so a goal changed elsewhere in between is not misreported.
+        Query updatedGoals = Query.query(Criteria.where("_id").in(goalIds));
+        updatedGoals.fields().include("progress", "isCompleted");
+        return mongoTemplate.find(updatedGoals, Goal.class)
+                .stream()
+                .map(GoalProgress::of)
+                .toList();
     }
 
-    private void addMinutesToTrackedGoal(String userId, Long minutes) {
-        Optional<Goal> optionalGoal = goalRepository
-                .getByUserIdAndTypeAndIsCompletedAndIsTracked(userId, GoalType.SESSION, false, true);
+    private static Criteria openStreakGoalsOf(String userId) {
+        return Criteria.where("userId").is(userId)
+                .and("type").is(GoalType.STREAK)
+                .and("isCompleted").is(false);
+    }
 
-        if (optionalGoal.isPresent()) {
-            Goal goal = optionalGoal.get();
+    private Optional<Goal> addMinutesToTrackedGoal(String userId, Long minutes) {
+        if (minutes == null || minutes <= 0) {
+            return Optional.empty();
+        }
+
+        Query trackedSessionGoal = Query.query(Criteria.where("userId").is(userId)
+                .and("type").is(GoalType.SESSION)
+                .and("isCompleted").is(false)
+                .and("isTracked").is(true));
 
-            goal.setProgress(goal.getProgress() + minutes);
-            if (goal.getProgress() == (goal.getDuration() * goal.getSets())) {
-                goal.setCompleted(true);
-            }
+        Goal updated = mongoTemplate.findAndModify(trackedSessionGoal,
+                addProgress(minutes, ComparisonOperators.valueOf("progress")
+                        .greaterThanEqualTo(ArithmeticOperators.valueOf("duration").multiplyBy("sets"))),
+                FindAndModifyOptions.options().returnNew(true), Goal.class);
 
-            goalRepository.save(goal);
+        if (updated != null) {
+            trackedGoals().put(userId, DtoMapper.mapGoalToGoalResponse(updated));
         }
 
+        return Optional.ofNullable(updated);
+    }
+
+    private Cache trackedGoals() {
+        return cacheManager.getCache(TRACKED_CACHE);
+    }
+
+    // Progress is incremented server-side and completion is derived from the new value in the same write.
+    private static AggregationUpdate addProgress(long amount, ComparisonOperators.Gte completed) {
+        return AggregationUpdate.update()
+                .set("progress").toValue(ArithmeticOperators.valueOf("progress").add(amount))
+                .set("isCompleted").toValue(completed);
     }
 
     private Goal initializeGoal(String userId, CreateGoalRequest request) {
@@ -118,7 +233,9 @@ public class GoalService {
                 .reward(request.getReward())
                 .isCompleted(false)
                 .isTracked(false)
-                .progress(0).build();
+                .progress(0)
+                .createdAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .build();
 
         if (request.getType() == GoalType.SESSION) {
 
@@ -1,7 +1,9 @@
 package app.focusx.web;
 
+import app.focusx.model.GoalType;
 import app.focusx.service.GoalService;
 import app.focusx.web.dto.CreateGoalRequest;
+import app.focusx.web.dto.GoalPage;
 import app.focusx.web.dto.GoalResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +21,8 @@ import java.util.List;
 @Tag(name = "Goals Management", description = "Endpoints for managing user goals")
 public class GoalController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final GoalService goalService;
 
     public GoalController(GoalService goalService) {
@@ -38,14 +42,28 @@ public class GoalController {
         return ResponseEntity.status(201).build();
     }
 
-    @Operation(summary = "Get all goals for a specific user")
+    @Operation(summary = "Get a page of goals for a specific user",
+            description = "Goals are ordered by creation time. Without limit or cursor every goal is returned; "
+                    + "otherwise, when more goals follow, the " + NEXT_CURSOR_HEADER
+                    + " response header holds the cursor for the next page.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of user goals returned"),
+            @ApiResponse(responseCode = "200", description = "Page of user goals returned"),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @GetMapping("/{userId}")
-    public List<GoalResponse> getGoals(@Parameter(required = true) @PathVariable String userId) {
-        return goalService.getAll(userId);
+    public ResponseEntity<List<GoalResponse>> getGoals(@Parameter(required = true) @PathVariable String userId,
+                                                       @RequestParam(required = false) GoalType type,
+                                                       @RequestParam(required = false) Boolean completed,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit) {
+        GoalPage page = goalService.getPage(userId, type, completed, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+
+        return response.body(page.getGoals());
     }
 
     @Operation(summary = "Delete a goal by its ID")
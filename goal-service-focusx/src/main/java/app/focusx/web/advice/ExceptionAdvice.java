@@ -1,5 +1,6 @@
 package app.focusx.web.advice;
 
+import app.focusx.exception.InvalidCursorException;
 import app.focusx.web.dto.ErrorResponse;
 import app.focusx.web.dto.FieldError;
 import org.springframework.http.HttpStatus;
@@ -40,4 +41,16 @@ public class ExceptionAdvice {
                         .fieldErrors(fieldErrors)
                         .build());
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex, WebRequest request) {
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.builder()
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                        .message(ex.getMessage())
+                        .path(request.getDescription(false))
+                        .timestamp(LocalDateTime.now())
+                        .build());
+    }
 }
@@ -0,0 +1,14 @@
+package app.focusx.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class GoalPage {
+
+    private List<GoalResponse> goals;
+    private String nextCursor;
+}
@@ -0,0 +1,131 @@
+package app.focusx.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TwoLevelCacheManagerUTest {
+
+    private static final String CHANNEL = "goal-cache-invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager shared;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        shared = new ConcurrentMapCacheManager("tracked");
+        cacheManager = new TwoLevelCacheManager(shared, redisTemplate, CHANNEL, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void givenSharedEntry_whenRead_thenCopiedToLocalCache() {
+        shared.getCache("tracked").put("user-1", "goal-a");
+        Cache cache = cacheManager.getCache("tracked");
+
+        assertThat(cache.get("user-1").get()).isEqualTo("goal-a");
+
+        shared.getCache("tracked").evict("user-1");
+        assertThat(cache.get("user-1").get()).isEqualTo("goal-a");
+    }
+
+    @Test
+    void givenCachedNull_whenRead_thenReturnsNullWrapper() {
+        Cache cache = cacheManager.getCache("tracked");
+
+        cache.put("user-1", null);
+
+        assertThat(cache.get("user-1")).isNotNull();
+        assertThat(cache.get("user-1").get()).isNull();
+    }
+
+    @Test
+    void givenPut_whenWritten_thenSharedUpdatedAndOtherReplicasNotified() {
+        cacheManager.getCache("tracked").put("user-1", "goal-a");
+
+        assertThat(shared.getCache("tracked").get("user-1").get()).isEqualTo("goal-a");
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        assertThat(message.getValue()).endsWith("\ntracked\nuser-1");
+    }
+
+    @Test
+    void givenInvalidationFromOtherReplica_whenReceived_thenLocalCopyDropped() {
+        Cache cache = cacheManager.getCache("tracked");
+        cache.put("user-1", "goal-a");
+        shared.getCache("tracked").put("user-1", "goal-b");
+
+        cacheManager.onMessage(message("other-replica\ntracked\nuser-1"), null);
+
+        assertThat(cache.get("user-1").get()).isEqualTo("goal-b");
+    }
+
+    @Test
+    void givenClearFromOtherReplica_whenReceived_thenAllLocalCopiesDropped() {
+        Cache cache = cacheManager.getCache("tracked");
+        cache.put("user-1", "goal-a");
+        cache.put("user-2", "goal-b");
+        shared.getCache("tracked").clear();
+
+        cacheManager.onMessage(message("other-replica\ntracked"), null);
+
+        assertThat(cache.get("user-1")).isNull();
+        assertThat(cache.get("user-2")).isNull();
+    }
+
+    @Test
+    void givenOwnInvalidation_whenReceived_thenLocalCopyKept() {
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        Cache cache = cacheManager.getCache("tracked");
+        cache.put("user-1", "goal-a");
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+        shared.getCache("tracked").evict("user-1");
+
+        cacheManager.onMessage(message(published.getValue()), null);
+
+        assertThat(cache.get("user-1").get()).isEqualTo("goal-a");
+    }
+
+    @Test
+    void givenRedisPublishFails_whenEvict_thenEvictionStillApplied() {
+        doThrow(new IllegalStateException("Redis down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+        Cache cache = cacheManager.getCache("tracked");
+        shared.getCache("tracked").put("user-1", "goal-a");
+
+        cache.evict("user-1");
+
+        assertThat(cache.get("user-1")).isNull();
+    }
+
+    @Test
+    void givenMissingEntry_whenGetWithLoader_thenLoadsOnceAndStoresInBothLevels() {
+        Cache cache = cacheManager.getCache("tracked");
+
+        assertThat(cache.get("user-1", () -> "goal-a")).isEqualTo("goal-a");
+        assertThat(cache.get("user-1", () -> "goal-b")).isEqualTo("goal-a");
+        assertThat(shared.getCache("tracked").get("user-1").get()).isEqualTo("goal-a");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
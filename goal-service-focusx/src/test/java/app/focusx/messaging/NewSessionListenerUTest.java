@@ -0,0 +1,67 @@
+package app.focusx.messaging;
+
+import app.focusx.service.GoalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewSessionListenerUTest {
+
+    @Mock
+    private GoalService goalService;
+
+    private NewSessionListener listener;
+
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        listener = new NewSessionListener(goalService, new ObjectMapper());
+    }
+
+    @Test
+    void givenSeveralEventsPerUser_whenListen_thenAppliesOneCombinedUpdatePerUser() {
+        listener.listen(List.of(
+                record("{\"userId\":\"alice\",\"minutes\":20,\"updateStreak\":true}"),
+                record("{\"userId\":\"bob\",\"minutes\":15,\"updateStreak\":false}"),
+                record("{\"userId\":\"alice\",\"minutes\":25,\"updateStreak\":false}"),
+                record("{\"userId\":\"bob\",\"minutes\":10,\"updateStreak\":false}")));
+
+        verify(goalService).updateGoals("alice", 45L, true);
+        verify(goalService).updateGoals("bob", 25L, false);
+        verifyNoMoreInteractions(goalService);
+    }
+
+    @Test
+    void givenMalformedRecord_whenListen_thenSkipsItAndHandlesTheRest() {
+        listener.listen(List.of(
+                record("not json"),
+                record("{\"userId\":\"alice\",\"minutes\":20,\"updateStreak\":false}")));
+
+        verify(goalService).updateGoals("alice", 20L, false);
+    }
+
+    @Test
+    void givenUpdateFailsForOneUser_whenListen_thenOtherUsersAreStillUpdated() {
+        doThrow(new IllegalStateException("Mongo unavailable")).when(goalService).updateGoals("alice", 20L, false);
+
+        listener.listen(List.of(
+                record("{\"userId\":\"alice\",\"minutes\":20,\"updateStreak\":false}"),
+                record("{\"userId\":\"bob\",\"minutes\":10,\"updateStreak\":true}")));
+
+        verify(goalService).updateGoals("bob", 10L, true);
+    }
+
+    private ConsumerRecord<String, String> record(String value) {
+        return new ConsumerRecord<>("new-session-event", 0, offset++, null, value);
+    }
+}
@@ -0,0 +1,56 @@
+package app.focusx.messaging.producer;
+
+import app.focusx.messaging.event.GoalProgressEvent;
+import app.focusx.messaging.event.GoalProgressEvent.GoalProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GoalProgressEventProducerUTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private GoalProgressEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        producer = new GoalProgressEventProducer(kafkaTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void givenEvent_whenSend_thenPublishesCompactJsonKeyedByUserId() throws Exception {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+
+        producer.send(new GoalProgressEvent("alice", List.of(new GoalProgress("goal-1", 45, true))));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate).send(eq(GoalProgressEventProducer.TOPIC), eq("alice"), message.capture());
+        assertThat(message.getValue())
+                .isEqualTo("{\"userId\":\"alice\",\"goals\":[{\"goalId\":\"goal-1\",\"progress\":45,\"completed\":true}]}");
+    }
+
+    @Test
+    void givenBrokerFailure_whenSend_thenDoesNotThrow() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        producer.send(new GoalProgressEvent("alice", List.of(new GoalProgress("goal-1", 45, false))));
+
+        verify(kafkaTemplate).send(eq(GoalProgressEventProducer.TOPIC), eq("alice"), anyString());
+    }
+}
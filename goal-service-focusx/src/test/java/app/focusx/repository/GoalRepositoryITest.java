@@ -0,0 +1,204 @@
+package app.focusx.repository;
+
+import app.focusx.config.MongoIndexConfig;
+import app.focusx.messaging.producer.GoalProgressEventProducer;
+import app.focusx.model.Goal;
+import app.focusx.model.GoalType;
+import app.focusx.service.GoalService;
+import app.focusx.web.dto.GoalPage;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+// Runs GoalService against a real Mongo, captures every goal command it sends and asserts Mongo
+// plans each one as a scan of the index meant for it.
+public class GoalRepositoryITest {
+
+    private static final String MONGO_URI = "mongodb://localhost:27017/?serverSelectionTimeoutMS=1000";
+
+    private static final Set<String> CAPTURED_COMMANDS = Set.of("find", "findAndModify", "update");
+    private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber", "$readPreference");
+
+    private static final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static GoalRepository goalRepository;
+
+    private GoalService goalService;
+    private String userId;
+
+    @BeforeAll
+    static void connect() {
+        CommandListener captureGoalCommands = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (CAPTURED_COMMANDS.contains(event.getCommandName())) {
+                    commands.add(event.getCommand().clone());
+                }
+            }
+        };
+
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(MONGO_URI))
+                .addCommandListener(captureGoalCommands)
+                .build());
+
+        try {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            client.close();
+            assumeTrue(false, "MongoDB is not reachable on localhost:27017");
+        }
+
+        mongoTemplate = new MongoTemplate(client, "testdb");
+        goalRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(GoalRepository.class);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (mongoTemplate != null) {
+            mongoTemplate.dropCollection(Goal.class);
+            client.close();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(Goal.class);
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+
+        for (int i = 0; i < 200; i++) {
+            insertGoals(UUID.randomUUID().toString());
+        }
+        userId = UUID.randomUUID().toString();
+        insertGoals(userId);
+
+        goalService = new GoalService(goalRepository, mongoTemplate,
+                new ConcurrentMapCacheManager(GoalService.TRACKED_CACHE), mock(GoalProgressEventProducer.class));
+        commands.clear();
+    }
+
+    @Test
+    void whenIndexesEnsured_thenTrackedIndexIsPartial() {
+        IndexInfo tracked = mongoTemplate.indexOps(Goal.class).getIndexInfo()
+                .stream()
+                .filter(index -> Goal.USER_TRACKED_INDEX.equals(index.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(tracked.getPartialFilterExpression()).contains("isTracked");
+    }
+
+    @Test
+    void addMinutesToTrackedGoal_findAndModifyUsesTrackedIndex() {
+        goalService.updateGoals(userId, 20L, false);
+
+        assertThat(commandNames()).containsExactly("findAndModify");
+        assertThat(winningPlan(commands.getFirst())).contains(Goal.USER_TRACKED_INDEX);
+    }
+
+    @Test
+    void updateStreakGoals_findAndUpdateMultiUseTypeCompletedIndex() {
+        goalService.updateGoals(userId, 0L, true);
+
+        // The trailing find re-reads the updated goals by _id.
+        assertThat(commandNames()).containsExactly("find", "update", "find");
+        assertThat(commands.subList(0, 2)).allSatisfy(command ->
+                assertThat(winningPlan(command)).contains(Goal.USER_TYPE_COMPLETED_INDEX));
+    }
+
+    @Test
+    void getPage_firstPageIsSortedByTheIndex() {
+        GoalPage page = goalService.getPage(userId, null, null, null, 2);
+
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(commandNames()).containsExactly("find");
+        assertThat(winningPlan(commands.getFirst()))
+                .contains(Goal.USER_TYPE_COMPLETED_INDEX)
+                .doesNotContain("\"stage\": \"SORT\"");
+    }
+
+    @Test
+    void getPage_nextPageUsesTypeCompletedIndex() {
+        String cursor = goalService.getPage(userId, GoalType.SESSION, null, null, 1).getNextCursor();
+        commands.clear();
+
+        goalService.getPage(userId, GoalType.SESSION, null, cursor, 1);
+
+        assertThat(commandNames()).containsExactly("find");
+        assertThat(winningPlan(commands.getFirst())).contains(Goal.USER_TYPE_COMPLETED_INDEX);
+    }
+
+    @Test
+    void findByUserIdAndIsTrackedTrue_usesTrackedIndex() {
+        goalRepository.findByUserIdAndIsTrackedTrue(userId);
+
+        assertThat(commandNames()).containsExactly("find");
+        assertThat(winningPlan(commands.getFirst())).contains(Goal.USER_TRACKED_INDEX);
+    }
+
+    private static List<String> commandNames() {
+        return commands.stream().map(BsonDocument::getFirstKey).toList();
+    }
+
+    private static String winningPlan(BsonDocument command) {
+        BsonDocument explained = command.clone();
+        DRIVER_FIELDS.forEach(explained::remove);
+
+        Document explain = mongoTemplate.getDb().runCommand(new BsonDocument("explain", explained)
+                .append("verbosity", new BsonString("queryPlanner")));
+
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        assertThat(winningPlan).contains("IXSCAN").doesNotContain("COLLSCAN");
+        return winningPlan;
+    }
+
+    private static void insertGoals(String userId) {
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+
+        mongoTemplate.insert(goal(userId, GoalType.SESSION, false, true, createdAt));
+        mongoTemplate.insert(goal(userId, GoalType.SESSION, false, false, createdAt.plusSeconds(1)));
+        mongoTemplate.insert(goal(userId, GoalType.STREAK, false, false, createdAt.plusSeconds(2)));
+        mongoTemplate.insert(goal(userId, GoalType.SESSION, true, false, createdAt.plusSeconds(3)));
+    }
+
+    private static Goal goal(String userId, GoalType type, boolean completed, boolean tracked, Instant createdAt) {
+        return Goal.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .title("Goal")
+                .type(type)
+                .sets(2)
+                .duration(25)
+                .days(5)
+                .isCompleted(completed)
+                .isTracked(tracked)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package app.focusx.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JwtValidatorUTest {
+
+    private KeyPair keyPair;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtValidator jwtValidator;
+
+    @BeforeEach
+    void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        meterRegistry = new SimpleMeterRegistry();
+        jwtValidator = new JwtValidator((RSAPublicKey) keyPair.getPublic(), meterRegistry, 100);
+    }
+
+    @Test
+    void givenSameTokenTwice_whenValidate_thenSecondCallIsServedFromCache() {
+        String userId = UUID.randomUUID().toString();
+        String token = token(userId, Instant.now().plus(Duration.ofMinutes(15)));
+
+        Claims first = jwtValidator.validateToken(token);
+        Claims second = jwtValidator.validateToken(token);
+
+        assertThat(second.getSubject()).isEqualTo(userId);
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void givenExpiredToken_whenValidate_thenThrows() {
+        String token = token(UUID.randomUUID().toString(), Instant.now().minus(Duration.ofMinutes(1)));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtValidator.validateToken(token));
+    }
+
+    @Test
+    void givenTokenSignedWithOtherKey_whenValidate_thenThrows() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .expiration(Date.from(Instant.now().plus(Duration.ofMinutes(15))))
+                .signWith(generator.generateKeyPair().getPrivate())
+                .compact();
+
+        assertThrows(SignatureException.class, () -> jwtValidator.validateToken(token));
+    }
+
+    private String token(String userId, Instant expiration) {
+        return Jwts.builder()
+                .subject(userId)
+                .claim("role", "ROLE_USER")
+                .issuedAt(new Date())
+                .expiration(Date.from(expiration))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", JwtValidator.CACHE_NAME).tag("result", result).functionCounter().count();
+    }
+}
@@ -1,21 +1,41 @@
 package app.focusx.service;
 
+import app.focusx.exception.InvalidCursorException;
+import app.focusx.messaging.event.GoalProgressEvent;
+import app.focusx.messaging.event.GoalProgressEvent.GoalProgress;
+import app.focusx.messaging.producer.GoalProgressEventProducer;
 import app.focusx.model.Goal;
 import app.focusx.model.GoalType;
 import app.focusx.repository.GoalRepository;
 import app.focusx.web.dto.CreateGoalRequest;
+import app.focusx.web.dto.GoalPage;
 import app.focusx.web.dto.GoalResponse;
+import org.bson.Document;
+import com.mongodb.client.result.UpdateResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,9 +50,27 @@ public class GoalServiceUTest {
     @Mock
     private GoalRepository goalRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private GoalProgressEventProducer goalProgressEventProducer;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(GoalService.TRACKED_CACHE);
+
     @Captor
     private ArgumentCaptor<Goal> goalCaptor;
 
+    @Captor
+    private ArgumentCaptor<Query> queryCaptor;
+
+    @Captor
+    private ArgumentCaptor<UpdateDefinition> updateCaptor;
+
+    @Captor
+    private ArgumentCaptor<GoalProgressEvent> eventCaptor;
+
     @Test
     void givenValidGoalRequestOfSessionType_whenCreate_thenReturnGoal() {
         CreateGoalRequest request = new CreateGoalRequest();
@@ -53,6 +91,7 @@ public class GoalServiceUTest {
         assertThat(goal.getDuration()).isEqualTo(request.getDuration());
         assertThat(goal.getType()).isEqualTo(request.getType());
         assertThat(goal.getReward()).isEqualTo(request.getReward());
+        assertThat(goal.getCreatedAt()).isNotNull();
     }
 
     @Test
@@ -88,34 +127,95 @@ public class GoalServiceUTest {
     }
 
     @Test
-    void givenUserId_whenGetAll_thenReturnsMappedGoalResponses() {
-        // Given
+    void givenMoreGoalsThanLimit_whenGetPage_thenReturnsPageAndCursorOfLastGoal() {
         String userId = UUID.randomUUID().toString();
-        Goal goal1 = Goal.builder()
-                .id(UUID.randomUUID().toString())
-                .title("Goal Title 1")
-                .type(GoalType.SESSION)
-                .build();
-        Goal goal2 = Goal.builder()
-                .id(UUID.randomUUID().toString())
-                .title("Goal Title 2")
-                .type(GoalType.STREAK)
-                .build();
-
-        when(goalRepository.findAllByUserId(userId)).thenReturn(List.of(goal1, goal2));
+        Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
+        Goal first = Goal.builder().id("a").title("Goal Title 1").type(GoalType.SESSION).createdAt(createdAt).build();
+        Goal second = Goal.builder().id("b").title("Goal Title 2").type(GoalType.STREAK).createdAt(createdAt).build();
+        Goal third = Goal.builder().id("c").title("Goal Title 3").type(GoalType.STREAK).createdAt(createdAt).build();
 
-        // When
-        List<GoalResponse> result = goalService.getAll(userId);
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(List.of(first, second, third));
 
-        // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getTitle()).isEqualTo(goal1.getTitle());
-        assertThat(result.get(1).getTitle()).isEqualTo(goal2.getTitle());
-        verify(goalRepository).findAllByUserId(userId);
+        GoalPage page = goalService.getPage(userId, null, null, null, 2);
+
+        assertThat(page.getGoals()).extracting(GoalResponse::getTitle).containsExactly("Goal Title 1", "Goal Title 2");
+        assertThat(page.getNextCursor()).isEqualTo(createdAt.toEpochMilli() + ":b");
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Goal.class));
+        Query query = queryCaptor.getValue();
+        assertThat(query.getLimit()).isEqualTo(3);
+        assertThat(query.getSortObject().toJson()).isEqualTo("{\"createdAt\": 1, \"_id\": 1}");
+        assertThat(query.getFieldsObject()).containsKeys("title", "progress").doesNotContainKey("userId");
+        assertThat(query.getQueryObject().get("type", Document.class))
+                .containsEntry("$in", List.of(GoalType.SESSION, GoalType.STREAK));
+        assertThat(query.getQueryObject().get("isCompleted", Document.class))
+                .containsEntry("$in", List.of(false, true));
     }
 
     @Test
-    void givenGoalId_whenDeleteById_thenRepositoryMethodCalled() {
+    void givenFiltersAndCursor_whenGetPage_thenQueriesAfterCursorWithFilters() {
+        String userId = UUID.randomUUID().toString();
+
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(List.of());
+
+        Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
+
+        GoalPage page = goalService.getPage(userId, GoalType.SESSION, true, createdAt.toEpochMilli() + ":b", 1000);
+
+        assertThat(page.getGoals()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getLimit()).isEqualTo(GoalService.MAX_PAGE_SIZE + 1);
+        Document queryObject = queryCaptor.getValue().getQueryObject();
+        assertThat(queryObject).containsEntry("userId", userId);
+        assertThat(queryObject.get("type", Document.class)).containsEntry("$in", List.of(GoalType.SESSION));
+        assertThat(queryObject.get("isCompleted", Document.class)).containsEntry("$in", List.of(true));
+        assertThat(queryObject.getList("$or", Document.class)).containsExactly(
+                new Document("createdAt", new Document("$gt", createdAt)),
+                new Document("createdAt", createdAt).append("_id", new Document("$gt", "b")));
+    }
+
+    @Test
+    void givenCursorOfGoalWithoutCreatedAt_whenGetPage_thenContinuesThroughLegacyGoalsFirst() {
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(List.of());
+
+        goalService.getPage(UUID.randomUUID().toString(), null, null, ":b", null);
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getLimit()).isEqualTo(GoalService.DEFAULT_PAGE_SIZE + 1);
+        assertThat(queryCaptor.getValue().getQueryObject().getList("$or", Document.class)).containsExactly(
+                new Document("createdAt", new Document("$ne", null)),
+                new Document("createdAt", null).append("_id", new Document("$gt", "b")));
+    }
+
+    @Test
+    void givenNoLimitOrCursor_whenGetPage_thenReturnsEveryGoalWithoutCursor() {
+        List<Goal> goals = IntStream.range(0, GoalService.MAX_PAGE_SIZE + 5)
+                .<Goal>mapToObj(i -> Goal.builder().id("goal-" + i).title("Goal").type(GoalType.SESSION).build())
+                .toList();
+
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(goals);
+
+        GoalPage page = goalService.getPage(UUID.randomUUID().toString(), null, null, null, null);
+
+        assertThat(page.getGoals()).hasSize(goals.size());
+        assertThat(page.getNextCursor()).isNull();
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getLimit()).isZero();
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetPage_thenThrowsInvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> goalService.getPage(UUID.randomUUID().toString(), null, null, "not-a-cursor", 10));
+        assertThrows(InvalidCursorException.class,
+                () -> goalService.getPage(UUID.randomUUID().toString(), null, null, "abc:goal-1", 10));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void givenGoalId_whenDeleteById_thenGoalRemoved() {
         // Given
         String goalId = UUID.randomUUID().toString();
 
@@ -123,31 +223,144 @@ public class GoalServiceUTest {
         goalService.deleteById(goalId);
 
         // Then
-        verify(goalRepository, times(1)).deleteById(goalId);
+        verify(mongoTemplate).findAndRemove(queryCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getQueryObject()).containsEntry("_id", goalId);
+    }
+
+    @Test
+    void givenTrackedGoal_whenDeleteById_thenEvictsOwnersTrackedGoal() {
+        String userId = UUID.randomUUID().toString();
+        Goal goal = Goal.builder().id(UUID.randomUUID().toString()).userId(userId).isTracked(true).build();
+        trackedCache().put(userId, GoalResponse.builder().build());
+
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Goal.class))).thenReturn(goal);
+
+        goalService.deleteById(goal.getId());
+
+        assertThat(trackedCache().get(userId)).isNull();
+    }
+
+    @Test
+    void givenGoalOfUser_whenTrackGoal_thenUntracksOnlyThatUsersOtherGoals() {
+        String userId = UUID.randomUUID().toString();
+        Goal goal = Goal.builder().id(UUID.randomUUID().toString()).userId(userId).title("Read").type(GoalType.SESSION).build();
+        Goal tracked = Goal.builder().id(goal.getId()).userId(userId).title("Read").type(GoalType.SESSION).isTracked(true).build();
+
+        when(goalRepository.findById(goal.getId())).thenReturn(Optional.of(goal));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Goal.class)))
+                .thenReturn(tracked);
+
+        goalService.trackGoal(goal.getId());
+
+        verify(mongoTemplate).updateMulti(queryCaptor.capture(), updateCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .containsEntry("userId", userId)
+                .containsEntry("isTracked", true);
+        assertThat(updateCaptor.getValue().getUpdateObject().toJson()).contains("\"isTracked\": false");
+        assertThat(((GoalResponse) trackedCache().get(userId).get()).getTitle()).isEqualTo("Read");
+    }
+
+    @Test
+    void givenMissingGoal_whenTrackGoal_thenNothingChanges() {
+        when(goalRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        goalService.trackGoal(UUID.randomUUID().toString());
+
+        verifyNoInteractions(mongoTemplate);
     }
 
     @Test
     void givenHappyPathWithTrueUpdateStreak_whenUpdateGoals_thenUpdatesStreakAndSessionGoals() {
-        UUID userId = UUID.randomUUID();
-        long minutes = 20L;
-        boolean updateStreak = true;
+        String userId = UUID.randomUUID().toString();
+        Goal streakGoal = Goal.builder().id("streak-1").progress(4).days(5).build();
+        Goal sessionGoal = Goal.builder().id("session-1").userId(userId).type(GoalType.SESSION).progress(40).build();
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Goal.class)))
+                .thenReturn(sessionGoal);
+        Goal updatedStreakGoal = Goal.builder().id("streak-1").progress(5).isCompleted(true).build();
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(List.of(streakGoal), List.of(updatedStreakGoal));
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Goal.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        goalService.updateGoals(userId, 20L, true);
 
-        Goal goal = Goal.builder()
-                .id(UUID.randomUUID().toString())
-                .type(GoalType.SESSION)
-                .duration(10)
-                .sets(2)
-                .isCompleted(false)
-                .isTracked(true)
-                .progress(0)
-                .build();
+        verify(mongoTemplate).findAndModify(queryCaptor.capture(), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .containsEntry("userId", userId)
+                .containsEntry("type", GoalType.SESSION)
+                .containsEntry("isCompleted", false)
+                .containsEntry("isTracked", true);
+        assertThat(pipelineOf(updateCaptor.getValue()))
+                .contains("{\"$add\": [\"$progress\", 20]}")
+                .contains("\"isCompleted\": {\"$gte\": [\"$progress\", {\"$multiply\": [\"$duration\", \"$sets\"]}]}");
 
+        verify(mongoTemplate).updateMulti(queryCaptor.capture(), updateCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .containsEntry("userId", userId)
+                .containsEntry("type", GoalType.STREAK)
+                .containsEntry("isCompleted", false);
+        assertThat(queryCaptor.getValue().getQueryObject().get("_id", Document.class))
+                .containsEntry("$in", List.of("streak-1"));
+        assertThat(pipelineOf(updateCaptor.getValue()))
+                .contains("{\"$add\": [\"$progress\", 1]}")
+                .contains("\"isCompleted\": {\"$gte\": [\"$progress\", \"$days\"]}");
 
-        when(goalRepository.getByUserIdAndTypeAndIsCompletedAndIsTracked(userId.toString(), GoalType.SESSION, false, true)).thenReturn(Optional.of(goal));
+        verify(mongoTemplate, times(2)).find(queryCaptor.capture(), eq(Goal.class));
+        assertThat(queryCaptor.getValue().getQueryObject().get("_id", Document.class))
+                .containsEntry("$in", List.of("streak-1"));
 
-        goalService.updateGoals(userId.toString(), minutes, updateStreak);
+        verify(goalProgressEventProducer).send(eventCaptor.capture());
+        GoalProgressEvent event = eventCaptor.getValue();
+        assertThat(event.getUserId()).isEqualTo(userId);
+        assertThat(event.getGoals()).containsExactly(
+                new GoalProgress("session-1", 40, false),
+                new GoalProgress("streak-1", 5, true));
+
+        verifyNoInteractions(goalRepository);
+    }
+
+    @Test
+    void givenStreakGoalMovedBeforeUpdate_whenUpdateGoals_thenPublishesStoredProgress() {
+        String userId = UUID.randomUUID().toString();
+        Goal readBeforeUpdate = Goal.builder().id("streak-1").progress(2).days(5).build();
+        Goal storedAfterUpdate = Goal.builder().id("streak-1").progress(4).build();
+
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(List.of(readBeforeUpdate), List.of(storedAfterUpdate));
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Goal.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        goalService.updateGoals(userId, 0L, true);
+
+        verify(goalProgressEventProducer).send(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getGoals()).containsExactly(new GoalProgress("streak-1", 4, false));
+    }
+
+    @Test
+    void givenNoOpenGoals_whenUpdateGoals_thenPublishesNothing() {
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class))).thenReturn(List.of());
+
+        goalService.updateGoals(UUID.randomUUID().toString(), 20L, true);
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Goal.class));
+        verifyNoInteractions(goalProgressEventProducer);
+    }
+
+    @Test
+    void givenFalseUpdateStreak_whenUpdateGoals_thenOnlyUpdatesTrackedSessionGoal() {
+        goalService.updateGoals(UUID.randomUUID().toString(), 20L, false);
+
+        verify(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Goal.class));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Goal.class));
+    }
+
+    private Cache trackedCache() {
+        return cacheManager.getCache(GoalService.TRACKED_CACHE);
+    }
 
-        assertThat(goal.getProgress()).isEqualTo(20);
-        assertThat(goal.isCompleted()).isTrue();
+    private static String pipelineOf(UpdateDefinition update) {
+        return ((AggregationUpdate) update).toPipeline(Aggregation.DEFAULT_CONTEXT)
+                .stream()
+                .map(Document::toJson)
+                .collect(Collectors.joining());
     }
 }
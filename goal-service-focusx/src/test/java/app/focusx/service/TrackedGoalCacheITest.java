@@ -0,0 +1,185 @@
+package app.focusx.service;
+
+import app.focusx.messaging.producer.GoalProgressEventProducer;
+import app.focusx.model.Goal;
+import app.focusx.model.GoalType;
+import app.focusx.repository.GoalRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(TrackedGoalCacheITest.CacheConfig.class)
+public class TrackedGoalCacheITest {
+
+    @Configuration
+    @EnableCaching
+    @Import(GoalService.class)
+    static class CacheConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(GoalService.TRACKED_CACHE);
+        }
+    }
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private GoalRepository goalRepository;
+
+    @MockitoBean
+    private MongoTemplate mongoTemplate;
+
+    @MockitoBean
+    private GoalProgressEventProducer goalProgressEventProducer;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(GoalService.TRACKED_CACHE).clear();
+    }
+
+    @Test
+    void givenCachedTrackedGoal_whenReadAgain_thenServedFromCache() {
+        String userId = UUID.randomUUID().toString();
+        when(goalRepository.findByUserIdAndIsTrackedTrue(userId))
+                .thenReturn(Optional.of(sessionGoal(userId, "Read", 10, true)));
+
+        goalService.getTrackingGoalByUserId(userId);
+        goalService.getTrackingGoalByUserId(userId);
+
+        verify(goalRepository, times(1)).findByUserIdAndIsTrackedTrue(userId);
+    }
+
+    @Test
+    void givenTwoUsersCached_whenOneSwitchesTrackedGoal_thenOnlyTheirEntryChanges() {
+        String switching = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+        Goal newGoal = sessionGoal(switching, "Write", 0, false);
+
+        when(goalRepository.findByUserIdAndIsTrackedTrue(switching))
+                .thenReturn(Optional.of(sessionGoal(switching, "Read", 10, true)));
+        when(goalRepository.findByUserIdAndIsTrackedTrue(other))
+                .thenReturn(Optional.of(sessionGoal(other, "Run", 5, true)));
+        goalService.getTrackingGoalByUserId(switching);
+        goalService.getTrackingGoalByUserId(other);
+
+        when(goalRepository.findById(newGoal.getId())).thenReturn(Optional.of(newGoal));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Goal.class)))
+                .thenReturn(newGoal.toBuilder().isTracked(true).build());
+
+        goalService.trackGoal(newGoal.getId());
+
+        assertThat(goalService.getTrackingGoalByUserId(switching).getTitle()).isEqualTo("Write");
+        assertThat(goalService.getTrackingGoalByUserId(other).getTitle()).isEqualTo("Run");
+        verify(goalRepository, times(1)).findByUserIdAndIsTrackedTrue(switching);
+        verify(goalRepository, times(1)).findByUserIdAndIsTrackedTrue(other);
+    }
+
+    @Test
+    void givenCachedTrackedGoal_whenDeleted_thenNextReadReloads() {
+        String userId = UUID.randomUUID().toString();
+        Goal tracked = sessionGoal(userId, "Read", 10, true);
+
+        when(goalRepository.findByUserIdAndIsTrackedTrue(userId)).thenReturn(Optional.of(tracked));
+        goalService.getTrackingGoalByUserId(userId);
+
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Goal.class))).thenReturn(tracked);
+        when(goalRepository.findByUserIdAndIsTrackedTrue(userId)).thenReturn(Optional.empty());
+
+        goalService.deleteById(tracked.getId());
+
+        assertThat(goalService.getTrackingGoalByUserId(userId)).isNull();
+    }
+
+    @Test
+    void givenCachedTrackedGoal_whenUntrackedGoalDeleted_thenEntryKept() {
+        String userId = UUID.randomUUID().toString();
+
+        when(goalRepository.findByUserIdAndIsTrackedTrue(userId))
+                .thenReturn(Optional.of(sessionGoal(userId, "Read", 10, true)));
+        goalService.getTrackingGoalByUserId(userId);
+
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Goal.class)))
+                .thenReturn(sessionGoal(userId, "Old", 0, false));
+
+        goalService.deleteById(UUID.randomUUID().toString());
+
+        assertThat(goalService.getTrackingGoalByUserId(userId).getTitle()).isEqualTo("Read");
+        verify(goalRepository, times(1)).findByUserIdAndIsTrackedTrue(userId);
+    }
+
+    @Test
+    void givenCachedTrackedGoal_whenSessionMinutesAdded_thenCachedProgressRefreshed() {
+        String userId = UUID.randomUUID().toString();
+        Goal tracked = sessionGoal(userId, "Read", 10, true);
+
+        when(goalRepository.findByUserIdAndIsTrackedTrue(userId)).thenReturn(Optional.of(tracked));
+        goalService.getTrackingGoalByUserId(userId);
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Goal.class)))
+                .thenReturn(tracked.toBuilder().progress(30).build());
+
+        goalService.updateGoals(userId, 20L, false);
+
+        assertThat(goalService.getTrackingGoalByUserId(userId).getProgress()).isEqualTo(30);
+        verify(goalRepository, times(1)).findByUserIdAndIsTrackedTrue(userId);
+    }
+
+    @Test
+    void givenCachedTrackedGoal_whenStreakGoalsAdvance_thenNextReadReloads() {
+        String userId = UUID.randomUUID().toString();
+
+        when(goalRepository.findByUserIdAndIsTrackedTrue(userId))
+                .thenReturn(Optional.of(sessionGoal(userId, "Read", 10, true)));
+        goalService.getTrackingGoalByUserId(userId);
+
+        when(mongoTemplate.find(any(Query.class), eq(Goal.class)))
+                .thenReturn(List.of(Goal.builder().id(UUID.randomUUID().toString()).days(5).build()));
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Goal.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        goalService.updateGoals(userId, 0L, true);
+        goalService.getTrackingGoalByUserId(userId);
+
+        verify(goalRepository, times(2)).findByUserIdAndIsTrackedTrue(userId);
+    }
+
+    private static Goal sessionGoal(String userId, String title, long progress, boolean tracked) {
+        return Goal.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .title(title)
+                .type(GoalType.SESSION)
+                .sets(2)
+                .duration(25)
+                .progress(progress)
+                .isTracked(tracked)
+                .build();
+    }
+}
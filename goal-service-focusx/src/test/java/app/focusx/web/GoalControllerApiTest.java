@@ -1,9 +1,11 @@
 package app.focusx.web;
 
+import app.focusx.exception.InvalidCursorException;
 import app.focusx.model.GoalType;
 import app.focusx.security.JwtValidator;
 import app.focusx.service.GoalService;
 import app.focusx.web.dto.CreateGoalRequest;
+import app.focusx.web.dto.GoalPage;
 import app.focusx.web.dto.GoalResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
@@ -84,7 +86,8 @@ public class GoalControllerApiTest {
                         .build()
         );
 
-        when(goalService.getAll(userId)).thenReturn(mockGoals);
+        when(goalService.getPage(userId, null, null, null, null))
+                .thenReturn(GoalPage.builder().goals(mockGoals).build());
 
         mockMvc.perform(get(BASE_URL + "/" + userId)
                         .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
@@ -94,9 +97,46 @@ public class GoalControllerApiTest {
                 .andExpect(jsonPath("$.length()").value(mockGoals.size()))
                 .andExpect(jsonPath("$[0].id").value(mockGoals.get(0).getId()))
                 .andExpect(jsonPath("$[0].title").value(mockGoals.get(0).getTitle()))
-                .andExpect(jsonPath("$[0].duration").value(mockGoals.get(0).getDuration()));
+                .andExpect(jsonPath("$[0].duration").value(mockGoals.get(0).getDuration()))
+                .andExpect(header().doesNotExist(GoalController.NEXT_CURSOR_HEADER));
 
-        verify(goalService).getAll(userId);
+        verify(goalService).getPage(userId, null, null, null, null);
+    }
+
+    @Test
+    void getRequestWithFiltersAndCursor_returnsPageAndNextCursorHeader() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        GoalResponse goal = GoalResponse.builder().id("goal-2").title("Goal 2").type("SESSION").build();
+
+        when(goalService.getPage(userId, GoalType.SESSION, false, "goal-1", 1))
+                .thenReturn(GoalPage.builder().goals(List.of(goal)).nextCursor("goal-2").build());
+
+        mockMvc.perform(get(BASE_URL + "/" + userId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .param("type", "SESSION")
+                        .param("completed", "false")
+                        .param("cursor", "goal-1")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("goal-2"))
+                .andExpect(header().string(GoalController.NEXT_CURSOR_HEADER, "goal-2"));
+    }
+
+    @Test
+    void getRequestWithMalformedCursor_returns400Status() throws Exception {
+        String userId = UUID.randomUUID().toString();
+
+        when(goalService.getPage(userId, null, null, "not-a-cursor", null))
+                .thenThrow(new InvalidCursorException("Invalid cursor not-a-cursor"));
+
+        mockMvc.perform(get(BASE_URL + "/" + userId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor not-a-cursor"));
     }
 
     @Test
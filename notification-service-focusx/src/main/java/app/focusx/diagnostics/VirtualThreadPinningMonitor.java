@@ -0,0 +1,112 @@
+package app.focusx.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events while the virtual-threads profile is active.
+ * Pinned time is published as the {@code jvm.threads.virtual.pinned} timer and the most frequent
+ * pinning sites are available under {@code /actuator/pinning}.
+ * <p>
+ * Only this service carries the monitor: JavaMail's SMTP transport holds a monitor for the whole
+ * send, which pins the carrier on Java 21, while the other services' drivers block without one.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "pinning")
+@Profile("virtual-threads")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_SITES = 50;
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinningSites = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, @Value("${diagnostics.pinning.threshold-ms:20}") long thresholdMs) {
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> pinning() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMs", threshold.toMillis());
+        report.put("count", pinnedTimer.count());
+        report.put("totalMs", pinnedTimer.totalTime(TimeUnit.MILLISECONDS));
+        report.put("maxMs", pinnedTimer.max(TimeUnit.MILLISECONDS));
+
+        Map<String, Long> sites = new LinkedHashMap<>();
+        pinningSites.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue((a, b) -> Long.compare(b.sum(), a.sum())))
+                .forEach(entry -> sites.put(entry.getKey(), entry.getValue().sum()));
+        report.put("sites", sites);
+
+        return report;
+    }
+
+    private void record(RecordedEvent event) {
+        String site = pinningSite(event);
+        if (pinningSites.size() < MAX_SITES || pinningSites.containsKey(site)) {
+            pinningSites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        }
+
+        // Recorded last so that a non-zero count implies the site is already visible.
+        pinnedTimer.record(event.getDuration());
+
+        log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+    }
+
+    // The first frame outside the JDK is the code that held the monitor or made the native call.
+    private String pinningSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+
+        return event.getStackTrace().getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+    }
+}
@@ -20,7 +20,7 @@ public class RegisterListener {
         this.mapper = mapper;
     }
 
-    @KafkaListener(topics = "register-event", groupId = "notification-service")
+    @KafkaListener(topics = "register-event", groupId = "notification-service", concurrency = "${kafka.listener.concurrency:3}")
     public void listen(ConsumerRecord<String, String> record) {
         try {
             RegisterEvent event = mapper.readValue(record.value(), RegisterEvent.class);
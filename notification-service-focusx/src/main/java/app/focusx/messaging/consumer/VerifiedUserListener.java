@@ -21,7 +21,7 @@ public class VerifiedUserListener {
         this.mapper = mapper;
     }
 
-    @KafkaListener(topics = "verified-user-event", groupId = "notification-service")
+    @KafkaListener(topics = "verified-user-event", groupId = "notification-service", concurrency = "${kafka.listener.concurrency:3}")
     public void listen(ConsumerRecord<String, String> record) {
         try {
             VerifiedUserEvent event = mapper.readValue(record.value(), VerifiedUserEvent.class);
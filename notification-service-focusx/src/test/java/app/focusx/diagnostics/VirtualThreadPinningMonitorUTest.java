@@ -0,0 +1,46 @@
+package app.focusx.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadPinningMonitorUTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void givenVirtualThreadBlockingInsideSynchronized_thenPinningIsRecorded() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, 1);
+        monitor.start();
+
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (meterRegistry.timer("jvm.threads.virtual.pinned").count() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+
+            Map<String, Object> report = monitor.pinning();
+            assertThat((long) report.get("count")).isPositive();
+            assertThat(report.get("sites")).asInstanceOf(InstanceOfAssertFactories.MAP).containsKey(getClass().getName() + ".sleepWhileHoldingMonitor");
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
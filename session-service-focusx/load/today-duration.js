@@ -0,0 +1,49 @@
+// k6 load test for GET /api/sessions/{userId}/today, used to compare the servlet and reactive modes.
+//
+//   SPRING_PROFILES_ACTIVE=default  java -jar target/session-service-focusx-*.jar
+//   SPRING_PROFILES_ACTIVE=reactive java -jar target/session-service-focusx-*.jar
+//   k6 run -e BASE_URL=http://localhost:8082 -e TOKEN=<access token> -e USERS=1000 load/today-duration.js
+//
+// Run it once per mode against the same Mongo/Redis and compare http_req_duration p95/p99,
+// http_reqs/s and the live thread count (jcmd <pid> Thread.print | grep -c '^"').
+// Flush the duration-sessions:: keys between runs to include the Mongo fallback path.
+//
+// No results are checked in. The comparison needs a Mongo, a Redis and a host sized like production,
+// none of which this repository provides, so the servlet-vs-reactive numbers are left to whoever runs it
+// against a real deployment rather than quoted from a laptop run.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const USERS = parseInt(__ENV.USERS || '1000');
+
+export const options = {
+    scenarios: {
+        today: {
+            executor: 'ramping-arrival-rate',
+            startRate: 100,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 2000, duration: '1m' },
+                { target: 2000, duration: '2m' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const userId = `load-user-${Math.floor(Math.random() * USERS)}`;
+    const res = http.get(`${BASE_URL}/api/sessions/${userId}/today`, {
+        headers: {
+            Authorization: `Bearer ${__ENV.TOKEN}`,
+            'User-Timezone': 'Europe/Berlin',
+        },
+    });
+
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
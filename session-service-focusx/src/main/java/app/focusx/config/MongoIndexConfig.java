@@ -0,0 +1,78 @@
+package app.focusx.config;
+
+import app.focusx.model.DailyFocus;
+import app.focusx.model.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.*;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+@Profile("!test")
+@Slf4j
+public class MongoIndexConfig {
+
+    private static final List<String> REQUIRED_SESSION_INDEXES = List.of(
+            Session.USER_COMPLETED_AT_INDEX,
+            Session.COMPLETED_AT_TTL_INDEX,
+            Session.PENDING_EVENTS_INDEX
+    );
+
+    private static final List<String> REQUIRED_DAILY_FOCUS_INDEXES = List.of(
+            DailyFocus.USER_DAY_INDEX
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Runs before the other ready listeners, which start jobs that rely on these indexes.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        IndexOperations sessionIndexOps = mongoTemplate.indexOps(Session.class);
+        resolver.resolveIndexFor(Session.class).forEach(sessionIndexOps::ensureIndex);
+        sessionIndexOps.ensureIndex(new Index()
+                .on("completedAt", Sort.Direction.ASC)
+                .named(Session.PENDING_EVENTS_INDEX)
+                .partial(PartialIndexFilter.of(Criteria.where("eventPending").is(true))));
+
+        IndexOperations dailyFocusIndexOps = mongoTemplate.indexOps(DailyFocus.class);
+        resolver.resolveIndexFor(DailyFocus.class).forEach(dailyFocusIndexOps::ensureIndex);
+
+        verifyIndexes(sessionIndexOps, REQUIRED_SESSION_INDEXES, "session");
+        verifyIndexes(dailyFocusIndexOps, REQUIRED_DAILY_FOCUS_INDEXES, DailyFocus.COLLECTION);
+    }
+
+    private void verifyIndexes(IndexOperations indexOps, List<String> required, String collection) {
+        Set<String> existing = indexOps.getIndexInfo()
+                .stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+
+        List<String> missing = required.stream()
+                .filter(name -> !existing.contains(name))
+                .toList();
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing indexes on " + collection + " collection: " + missing);
+        }
+
+        log.info("Verified {} indexes {}", collection, required);
+    }
+}
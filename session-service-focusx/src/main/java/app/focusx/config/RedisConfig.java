@@ -1,9 +1,17 @@
 package app.focusx.config;
 
+import app.focusx.messaging.producer.TodayDurationPublisher;
+import app.focusx.stream.TodayDurationStreams;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -25,4 +33,22 @@ public class RedisConfig {
 
         return template;
     }
+
+    @Bean
+    @Profile("!test & !reactive")
+    public RedisMessageListenerContainer todayDurationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        TodayDurationStreams todayDurationStreams) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(todayDurationStreams, ChannelTopic.of(TodayDurationPublisher.CHANNEL));
+
+        return container;
+    }
+
+    @Bean
+    @Lazy
+    @Profile("reactive")
+    public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
 }
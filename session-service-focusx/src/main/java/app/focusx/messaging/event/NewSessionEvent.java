@@ -7,10 +7,13 @@ public class NewSessionEvent {
     private String userId;
     private Long minutes;
     private boolean updateStreak;
+    // Lets user-service judge the streak against the user's local day.
+    private String timezone;
 
-    public NewSessionEvent(String userId, Long minutes, boolean updateStreak) {
+    public NewSessionEvent(String userId, Long minutes, boolean updateStreak, String timezone) {
         this.userId = userId;
         this.minutes = minutes;
         this.updateStreak = updateStreak;
+        this.timezone = timezone;
     }
 }
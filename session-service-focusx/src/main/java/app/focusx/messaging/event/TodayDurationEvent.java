@@ -0,0 +1,14 @@
+package app.focusx.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodayDurationEvent {
+    private String userId;
+    private String timezone;
+    private long minutes;
+}
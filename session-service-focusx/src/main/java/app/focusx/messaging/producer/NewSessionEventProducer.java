@@ -1,11 +1,15 @@
 package app.focusx.messaging.producer;
 
 import app.focusx.messaging.event.NewSessionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @Slf4j
 public class NewSessionEventProducer {
@@ -18,16 +22,16 @@ public class NewSessionEventProducer {
         this.objectMapper = objectMapper;
     }
 
-    public void sendNewSessionAddedEvent(String userId, long minutes, boolean updateStreak) {
-        sendSessionEvent(new NewSessionEvent(userId, minutes, updateStreak));
+    public CompletableFuture<SendResult<String, String>> sendNewSessionAddedEvent(String userId, long minutes, boolean updateStreak, String timezone) {
+        return sendSessionEvent(new NewSessionEvent(userId, minutes, updateStreak, timezone));
     }
 
-    private void sendSessionEvent(NewSessionEvent event) {
+    private CompletableFuture<SendResult<String, String>> sendSessionEvent(NewSessionEvent event) {
         try {
             String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send("new-session-event", message);
-        } catch (Exception e) {
-            log.error("Failed to send new session event", e);
+            return kafkaTemplate.send("new-session-event", event.getUserId(), message);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
@@ -0,0 +1,283 @@
+package app.focusx.messaging.producer;
+
+import app.focusx.model.Session;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("!test")
+@Slf4j
+public class NewSessionOutboxRelay {
+
+    private final MongoTemplate mongoTemplate;
+    private final NewSessionEventProducer producer;
+
+    private final int batchSize;
+    private final Duration lease;
+    private final long renewEveryMillis;
+    private final long intervalMillis;
+    private final Semaphore inFlight;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService scheduler;
+
+    public NewSessionOutboxRelay(MongoTemplate mongoTemplate,
+                                 NewSessionEventProducer producer,
+                                 @Value("${outbox.relay.batch-size:200}") int batchSize,
+                                 @Value("${outbox.relay.max-in-flight:20}") int maxInFlight,
+                                 @Value("${outbox.relay.lease-ms:30000}") long leaseMillis,
+                                 @Value("${outbox.relay.interval-ms:500}") long intervalMillis,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.producer = producer;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.renewEveryMillis = Math.max(1, leaseMillis / 3);
+        this.intervalMillis = intervalMillis;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        // Waiting on the broker must not hold up the shared scheduler that runs SSE heartbeats and the rollup. Spring's
+        // virtual-thread switch does not reach an executor created here, so the relay follows the profile itself.
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("outbox-relay").factory()
+                : Thread.ofPlatform().name("outbox-relay").daemon().factory();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                relay();
+            } catch (RuntimeException e) {
+                log.error("Outbox relay run failed", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // While sends are outstanding the lease is renewed and finished users are marked published, so a slow
+    // broker neither lets another replica re-claim (and resend) the batch nor delays the sessions already sent.
+    // Each run relays at most one day per user, the earliest, and releases the rest; a user's later day is only
+    // relayed once the earlier one is published, so events for a user never overtake each other.
+    public void relay() {
+        List<Session> sessions = claimBatch();
+
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Session>> sessionsByUser = sessions.stream()
+                .collect(Collectors.groupingBy(Session::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        Set<String> blockedUsers = usersWithEarlierPendingSessions(sessionsByUser);
+        List<String> deferred = new ArrayList<>();
+        List<List<Session>> relayed = new ArrayList<>();
+
+        sessionsByUser.forEach((userId, userSessions) -> {
+            if (blockedUsers.contains(userId)) {
+                userSessions.forEach(session -> deferred.add(session.getId()));
+                return;
+            }
+
+            String firstDay = dayOf(userSessions.getFirst());
+            userSessions.forEach(session -> {
+                if (!dayOf(session).equals(firstDay)) {
+                    deferred.add(session.getId());
+                }
+            });
+            relayed.add(userSessions.stream().filter(session -> dayOf(session).equals(firstDay)).toList());
+        });
+
+        releaseLease(deferred);
+
+        List<String> claimedIds = relayed.stream().flatMap(List::stream).map(Session::getId).toList();
+        Queue<String> published = new ConcurrentLinkedQueue<>();
+        Queue<String> failed = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+
+        for (List<Session> daySessions : relayed) {
+            String userId = daySessions.getFirst().getUserId();
+            long minutes = daySessions.stream().mapToLong(Session::getMinutes).sum();
+            boolean updateStreak = daySessions.stream().anyMatch(Session::isUpdateStreak);
+            String timezone = daySessions.getLast().getTimezone();
+
+            while (!tryAcquirePermit()) {
+                markPublished(drain(published));
+                releaseLease(drain(failed));
+                renewLease(claimedIds);
+            }
+            sends.add(producer.sendNewSessionAddedEvent(userId, minutes, updateStreak, timezone)
+                    .whenComplete((result, e) -> {
+                        inFlight.release();
+
+                        Queue<String> outcome = e == null ? published : failed;
+                        daySessions.forEach(session -> outcome.add(session.getId()));
+                        if (e != null) {
+                            log.warn("Failed to relay new session event for user {}, will retry", userId, e);
+                        }
+                    }));
+        }
+
+        CompletableFuture<Void> allSent = CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null);
+
+        while (!awaitSends(allSent)) {
+            markPublished(drain(published));
+            releaseLease(drain(failed));
+            renewLease(claimedIds);
+        }
+
+        markPublished(drain(published));
+        releaseLease(drain(failed));
+    }
+
+    // Another replica may still hold an earlier session of the same user; relaying past it would reorder that user's events.
+    private Set<String> usersWithEarlierPendingSessions(Map<String, List<Session>> sessionsByUser) {
+        Set<String> claimedIds = sessionsByUser.values().stream()
+                .flatMap(List::stream)
+                .map(Session::getId)
+                .collect(Collectors.toSet());
+
+        Query otherPending = Query.query(Criteria.where("eventPending").is(true)
+                .and("userId").in(sessionsByUser.keySet())
+                .and("_id").nin(claimedIds));
+        otherPending.fields().include("userId", "completedAt");
+
+        return mongoTemplate.find(otherPending, Session.class)
+                .stream()
+                .filter(session -> !claimedIds.contains(session.getId()))
+                .filter(session -> session.getCompletedAt().isBefore(sessionsByUser.get(session.getUserId()).getFirst().getCompletedAt()))
+                .map(Session::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    private static String dayOf(Session session) {
+        if (session.getDay() != null) {
+            return session.getDay();
+        }
+
+        return LocalDate.ofInstant(session.getCompletedAt(), ZoneId.of(session.getTimezone())).toString();
+    }
+
+    private boolean tryAcquirePermit() {
+        try {
+            return inFlight.tryAcquire(renewEveryMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying new session events", e);
+        }
+    }
+
+    private boolean awaitSends(CompletableFuture<Void> allSent) {
+        try {
+            allSent.get(renewEveryMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private void renewLease(List<String> ids) {
+        Instant lockedUntil = Instant.now().plus(lease).truncatedTo(ChronoUnit.MILLIS);
+
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)
+                        .and("eventPending").is(true)
+                        .and("eventLockOwner").is(owner)),
+                new Update().set("eventLockedUntil", lockedUntil),
+                Session.class);
+    }
+
+    // Unclaimed sessions are picked up by the next run instead of waiting for the lease to expire.
+    private void releaseLease(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)
+                        .and("eventPending").is(true)
+                        .and("eventLockOwner").is(owner)),
+                new Update().unset("eventLockOwner").unset("eventLockedUntil"),
+                Session.class);
+    }
+
+    private static List<String> drain(Queue<String> queue) {
+        List<String> ids = new ArrayList<>();
+
+        for (String id = queue.poll(); id != null; id = queue.poll()) {
+            ids.add(id);
+        }
+
+        return ids;
+    }
+
+    private List<Session> claimBatch() {
+        Instant now = Instant.now();
+        Instant lockedUntil = now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+
+        Criteria claimable = Criteria.where("eventPending").is(true)
+                .orOperator(Criteria.where("eventLockedUntil").is(null), Criteria.where("eventLockedUntil").lt(now));
+
+        Query pending = Query.query(claimable).with(Sort.by("completedAt")).limit(batchSize);
+        pending.fields().include("_id");
+
+        List<String> ids = mongoTemplate.find(pending, Session.class)
+                .stream()
+                .map(Session::getId)
+                .toList();
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Another replica may claim some of the same sessions; only the ones locked by this owner are relayed.
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids).andOperator(claimable)),
+                new Update().set("eventLockOwner", owner).set("eventLockedUntil", lockedUntil),
+                Session.class);
+
+        Query claimed = Query.query(Criteria.where("_id").in(ids)
+                        .and("eventLockOwner").is(owner)
+                        .and("eventLockedUntil").is(lockedUntil))
+                .with(Sort.by("completedAt"));
+
+        return mongoTemplate.find(claimed, Session.class);
+    }
+
+    private void markPublished(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                new Update().set("eventPending", false).unset("eventLockOwner").unset("eventLockedUntil"),
+                Session.class);
+    }
+}
@@ -0,0 +1,42 @@
+package app.focusx.messaging.producer;
+
+import app.focusx.messaging.event.TodayDurationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes new today's-duration totals on a Redis channel so every node can push them to its
+ * connected SSE clients. Fire-and-forget: a lost update is corrected by the next one or by polling.
+ */
+@Component
+@Slf4j
+public class TodayDurationPublisher {
+
+    public static final String CHANNEL = "today-duration";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TodayDurationPublisher(ReactiveStringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publish(String userId, String timezone, long minutes) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(new TodayDurationEvent(userId, timezone, minutes));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize today's duration update for user {}", userId, e);
+            return;
+        }
+
+        redisTemplate.convertAndSend(CHANNEL, message)
+                .doOnError(e -> log.warn("Failed to publish today's duration update for user {}", userId, e))
+                .onErrorComplete()
+                .subscribe();
+    }
+}
@@ -0,0 +1,29 @@
+package app.focusx.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = DailyFocus.COLLECTION)
+@Data
+@Builder
+@CompoundIndex(name = DailyFocus.USER_DAY_INDEX, def = "{'userId': 1, 'day': 1}", unique = true)
+public class DailyFocus {
+
+    public static final String COLLECTION = "daily_focus";
+    public static final String USER_DAY_INDEX = "user_day";
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    // Local date (yyyy-MM-dd) in the user's timezone.
+    private String day;
+
+    private long minutes;
+    private long count;
+
+}
@@ -0,0 +1,29 @@
+package app.focusx.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progress and lease of a periodic rollup. Sessions completed up to {@code rolledUpTo} are already
+ * counted; {@code pendingUntil} is the end of a slice that was being merged when its runner stopped.
+ */
+@Document(collection = RollupState.COLLECTION)
+@Data
+@Builder
+public class RollupState {
+
+    public static final String COLLECTION = "rollup_state";
+
+    @Id
+    private String id;
+
+    private Instant rolledUpTo;
+    private Instant pendingUntil;
+
+    private String lockOwner;
+    private Instant lockedUntil;
+}
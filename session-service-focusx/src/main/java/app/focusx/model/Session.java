@@ -3,6 +3,8 @@ package app.focusx.model;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -10,13 +12,30 @@ import java.time.Instant;
 @Document
 @Data
 @Builder
+@CompoundIndex(name = Session.USER_COMPLETED_AT_INDEX, def = "{'userId': 1, 'completedAt': 1}")
 public class Session {
 
+    public static final String USER_COMPLETED_AT_INDEX = "user_completed_at";
+    public static final String COMPLETED_AT_TTL_INDEX = "completed_at_ttl";
+    public static final String PENDING_EVENTS_INDEX = "pending_events";
+
     @Id
     private String id;
 
     private String userId;
     private long minutes;
+
+    @Indexed(name = COMPLETED_AT_TTL_INDEX, expireAfter = "2d")
     private Instant completedAt;
 
+    // Local date (yyyy-MM-dd) in the user's timezone, used to roll sessions up into DailyFocus.
+    private String day;
+    private String timezone;
+
+    // Outbox state: the new-session event is stored with the session and relayed to Kafka later.
+    private boolean updateStreak;
+    private boolean eventPending;
+    private String eventLockOwner;
+    private Instant eventLockedUntil;
+
 }
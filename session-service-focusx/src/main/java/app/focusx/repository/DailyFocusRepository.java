@@ -0,0 +1,15 @@
+package app.focusx.repository;
+
+import app.focusx.model.DailyFocus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DailyFocusRepository extends MongoRepository<DailyFocus, String> {
+
+    @Query(value = "{ 'userId': ?0, 'day': { $gte: ?1, $lte: ?2 } }", sort = "{ 'day': 1 }")
+    List<DailyFocus> findByUserIdAndDayRange(String userId, String from, String to);
+}
@@ -0,0 +1,13 @@
+package app.focusx.repository;
+
+import app.focusx.model.Session;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface ReactiveSessionRepository extends ReactiveMongoRepository<Session, String> {
+    Flux<Session> findByCompletedAtBetweenAndUserId(Instant completedAtAfter, Instant completedAtBefore, String userId);
+}
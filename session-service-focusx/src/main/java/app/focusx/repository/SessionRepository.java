@@ -10,6 +10,4 @@ import java.util.List;
 @Repository
 public interface SessionRepository extends MongoRepository<Session, String> {
     List<Session> findByCompletedAtBetweenAndUserId(Instant completedAtAfter, Instant completedAtBefore, String userId);
-
-    void deleteByCompletedAtBefore(Instant oneDayAgo);
 }
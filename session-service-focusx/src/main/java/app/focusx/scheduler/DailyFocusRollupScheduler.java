@@ -0,0 +1,38 @@
+package app.focusx.scheduler;
+
+import app.focusx.service.DailyFocusService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Profile("!test")
+public class DailyFocusRollupScheduler {
+
+    private final DailyFocusService dailyFocusService;
+    private final TaskScheduler taskScheduler;
+    private final Duration interval;
+
+    public DailyFocusRollupScheduler(DailyFocusService dailyFocusService,
+                                     TaskScheduler taskScheduler,
+                                     @Value("${rollup.interval-ms:300000}") long intervalMillis) {
+        this.dailyFocusService = dailyFocusService;
+        this.taskScheduler = taskScheduler;
+        this.interval = Duration.ofMillis(intervalMillis);
+    }
+
+    // The rollup's $merge needs the unique user_day index, which MongoIndexConfig creates in an earlier ready listener.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::rollUpDailyFocus, interval);
+    }
+
+    public void rollUpDailyFocus() {
+        dailyFocusService.rollUp();
+    }
+}
@@ -0,0 +1,60 @@
+package app.focusx.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link JwtFilter}. Not a bean on purpose, otherwise WebFlux would also
+ * register it in the global filter chain next to the security chain.
+ */
+public class JwtWebFilter implements WebFilter {
+
+    private final JwtValidator validator;
+
+    public JwtWebFilter(JwtValidator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs")) {
+            return chain.filter(exchange);
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return unauthorized(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken auth;
+        try {
+            Claims claims = validator.validateToken(authHeader.substring(7));
+            GrantedAuthority role = new SimpleGrantedAuthority(claims.get("role").toString());
+
+            auth = new UsernamePasswordAuthenticationToken(claims.getSubject(), null, List.of(role));
+        } catch (JwtException e) {
+            return unauthorized(exchange);
+        }
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+}
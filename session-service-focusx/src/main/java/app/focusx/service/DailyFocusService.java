@@ -0,0 +1,187 @@
+package app.focusx.service;
+
+import app.focusx.model.DailyFocus;
+import app.focusx.model.RollupState;
+import app.focusx.model.Session;
+import app.focusx.repository.DailyFocusRepository;
+import app.focusx.web.dto.DailyFocusDay;
+import app.focusx.web.dto.DailyFocusRangeResponse;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+@Service
+public class DailyFocusService {
+
+    // Matches the TTL of the session collection: older sessions are already gone.
+    static final Duration ROLLUP_WINDOW = Duration.ofDays(2);
+
+    public static final String ROLLUP_ID = "daily_focus";
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final MongoTemplate mongoTemplate;
+    private final DailyFocusRepository dailyFocusRepository;
+    private final Duration lease;
+    private final Duration settle;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    public DailyFocusService(MongoTemplate mongoTemplate,
+                             DailyFocusRepository dailyFocusRepository,
+                             @Value("${rollup.interval-ms:300000}") long leaseMillis,
+                             @Value("${rollup.settle-ms:60000}") long settleMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.dailyFocusRepository = dailyFocusRepository;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.settle = Duration.ofMillis(settleMillis);
+    }
+
+    /**
+     * Adds the sessions completed since the last run to their DailyFocus buckets. Only the replica
+     * holding the rollup lease runs; the lease lasts one interval, so the rollup runs about once per
+     * interval however many replicas there are.
+     * <p>
+     * Sessions younger than the settle delay are left for the next run, so a session saved just after
+     * {@code completedAt} was stamped is not skipped. Each bucket records the slice it last absorbed,
+     * which lets a runner that takes over a half-merged slice finish it without counting twice.
+     */
+    public void rollUp() {
+        Optional<RollupState> claimed = claimLease();
+
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        RollupState state = claimed.get();
+        Instant until = state.getPendingUntil() != null
+                ? state.getPendingUntil()
+                : Instant.now().minus(settle).truncatedTo(ChronoUnit.MILLIS);
+
+        if (state.getRolledUpTo() == null) {
+            // First run: the buckets may already hold these sessions from full recomputes, so keep the larger totals.
+            mergeSessions(Criteria.where("completedAt").gte(Instant.now().minus(ROLLUP_WINDOW)).lte(until), until, keepLargest());
+            completeSlice(until);
+            return;
+        }
+
+        if (!until.isAfter(state.getRolledUpTo()) || !startSlice(until)) {
+            return;
+        }
+
+        mergeSessions(Criteria.where("completedAt").gt(state.getRolledUpTo()).lte(until), until, addUnlessAbsorbed());
+        completeSlice(until);
+    }
+
+    public DailyFocusRangeResponse getRange(String userId, LocalDate from, LocalDate to) {
+        List<DailyFocusDay> days = dailyFocusRepository.findByUserIdAndDayRange(userId, from.toString(), to.toString())
+                .stream()
+                .map(bucket -> DailyFocusDay.builder()
+                        .day(bucket.getDay())
+                        .minutes(bucket.getMinutes())
+                        .count(bucket.getCount())
+                        .build())
+                .toList();
+
+        return DailyFocusRangeResponse.builder()
+                .from(from.toString())
+                .to(to.toString())
+                .totalMinutes(days.stream().mapToLong(DailyFocusDay::minutes).sum())
+                .totalSessions(days.stream().mapToLong(DailyFocusDay::count).sum())
+                .days(days)
+                .build();
+    }
+
+    public static boolean isValidRange(LocalDate from, LocalDate to) {
+        return !from.isAfter(to) && ChronoUnit.DAYS.between(from, to) < MAX_RANGE_DAYS;
+    }
+
+    private Optional<RollupState> claimLease() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Query claimable = Query.query(Criteria.where("_id").is(ROLLUP_ID).orOperator(
+                Criteria.where("lockedUntil").is(null),
+                Criteria.where("lockedUntil").lt(now),
+                Criteria.where("lockOwner").is(owner)));
+        Update lock = new Update().set("lockOwner", owner).set("lockedUntil", now.plus(lease));
+
+        try {
+            return Optional.ofNullable(mongoTemplate.findAndModify(claimable, lock,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), RollupState.class));
+        } catch (DuplicateKeyException e) {
+            // Another replica holds the lease, so the upsert collided with its document.
+            return Optional.empty();
+        }
+    }
+
+    private boolean startSlice(Instant until) {
+        return mongoTemplate.updateFirst(ownedState(), Update.update("pendingUntil", until), RollupState.class)
+                .getMatchedCount() > 0;
+    }
+
+    private void completeSlice(Instant until) {
+        mongoTemplate.updateFirst(ownedState(), Update.update("rolledUpTo", until).unset("pendingUntil"), RollupState.class);
+    }
+
+    private Query ownedState() {
+        return Query.query(Criteria.where("_id").is(ROLLUP_ID).and("lockOwner").is(owner));
+    }
+
+    private void mergeSessions(Criteria completed, Instant until, Document whenMatched) {
+        Aggregation aggregation = newAggregation(
+                match(completed.and("day").exists(true)),
+                group("userId", "day").sum("minutes").as("minutes").count().as("count"),
+                project("userId", "day", "minutes", "count").andExclude("_id").and(LiteralOperators.Literal.asLiteral(Date.from(until))).as("rolledUpTo"),
+                mergeIntoDailyFocus(whenMatched));
+
+        mongoTemplate.aggregate(aggregation, Session.class, Document.class);
+    }
+
+    private static Document keepLargest() {
+        return new Document("$set", new Document()
+                .append("minutes", new Document("$max", List.of("$minutes", "$$new.minutes")))
+                .append("count", new Document("$max", List.of("$count", "$$new.count")))
+                .append("rolledUpTo", "$$new.rolledUpTo"));
+    }
+
+    private static Document addUnlessAbsorbed() {
+        Document notAbsorbed = new Document("$lt", List.of(
+                new Document("$ifNull", List.of("$rolledUpTo", Date.from(Instant.EPOCH))), "$$new.rolledUpTo"));
+
+        return new Document("$set", new Document()
+                .append("minutes", new Document("$cond", List.of(notAbsorbed,
+                        new Document("$add", List.of("$minutes", "$$new.minutes")), "$minutes")))
+                .append("count", new Document("$cond", List.of(notAbsorbed,
+                        new Document("$add", List.of("$count", "$$new.count")), "$count")))
+                .append("rolledUpTo", new Document("$max", List.of("$rolledUpTo", "$$new.rolledUpTo"))));
+    }
+
+    private static AggregationOperation mergeIntoDailyFocus(Document whenMatched) {
+        return context -> new Document("$merge", new Document()
+                .append("into", DailyFocus.COLLECTION)
+                .append("on", List.of("userId", "day"))
+                .append("whenMatched", List.of(whenMatched))
+                .append("whenNotMatched", "insert"));
+    }
+}
@@ -0,0 +1,125 @@
+package app.focusx.service;
+
+import app.focusx.messaging.producer.TodayDurationPublisher;
+import app.focusx.model.Session;
+import app.focusx.repository.ReactiveSessionRepository;
+import app.focusx.web.dto.SessionCreateRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static app.focusx.service.SessionDays.*;
+
+@Service
+@Profile("reactive")
+public class ReactiveSessionService {
+
+    private final ReactiveSessionRepository sessionRepository;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    private final TodayDurationPublisher todayDurationPublisher;
+
+    public ReactiveSessionService(ReactiveSessionRepository sessionRepository, ReactiveStringRedisTemplate redisTemplate, TodayDurationPublisher todayDurationPublisher) {
+        this.sessionRepository = sessionRepository;
+        this.redisTemplate = redisTemplate;
+        this.todayDurationPublisher = todayDurationPublisher;
+    }
+
+    public Mono<Void> add(SessionCreateRequest request) {
+        String userId = request.getUserId();
+        String timezone = request.getUserTimezone();
+
+        return markFirstSessionOfDay(userId, timezone)
+                .flatMap(updateStreak -> sessionRepository.save(initializeSession(request, updateStreak))
+                        .onErrorResume(e -> (updateStreak ? releaseFirstSessionOfDay(userId, timezone) : Mono.<Void>empty())
+                                .then(Mono.error(e))))
+                .flatMap(saved -> recordTodaysDuration(userId, List.of(saved), timezone));
+    }
+
+    public Mono<List<Session>> addAll(List<SessionCreateRequest> requests) {
+        Map<String, List<SessionCreateRequest>> requestsByUser = requests.stream()
+                .collect(Collectors.groupingBy(SessionCreateRequest::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        return Mono.defer(() -> markAndInsertAll(requests, requestsByUser))
+                .flatMap(sessions -> {
+                    Map<String, List<Session>> sessionsByUser = sessions.stream().collect(Collectors.groupingBy(Session::getUserId));
+
+                    return Flux.fromIterable(requestsByUser.entrySet())
+                            .concatMap(entry -> recordTodaysDuration(entry.getKey(), sessionsByUser.get(entry.getKey()),
+                                    entry.getValue().get(0).getUserTimezone()))
+                            .then(Mono.just(sessions));
+                });
+    }
+
+    public Mono<Long> getTodaysDuration(String userId, String userTimeZone) {
+        // Reads never seed the hash, same as the servlet service.
+        return redisTemplate.opsForHash().values(dailyKey(DURATION_PREFIX, userId, userTimeZone))
+                .map(minutes -> Long.parseLong((String) minutes))
+                .reduce(Long::sum)
+                .switchIfEmpty(Mono.defer(() -> getTodaysSessions(userId, userTimeZone)
+                        .map(Session::getMinutes)
+                        .reduce(0L, Long::sum)));
+    }
+
+    // Markers set before a failure are released, so the user's next session still updates the streak.
+    private Mono<List<Session>> markAndInsertAll(List<SessionCreateRequest> requests,
+                                                 Map<String, List<SessionCreateRequest>> requestsByUser) {
+        Map<String, String> streakUpdates = new ConcurrentHashMap<>();
+
+        return Flux.fromIterable(requestsByUser.entrySet())
+                .concatMap(entry -> {
+                    String timezone = entry.getValue().get(0).getUserTimezone();
+
+                    return markFirstSessionOfDay(entry.getKey(), timezone)
+                            .filter(Boolean::booleanValue)
+                            .doOnNext(marked -> streakUpdates.put(entry.getKey(), timezone));
+                })
+                .then(Mono.defer(() -> sessionRepository.insert(initializeSessions(requests, streakUpdates.keySet())).collectList()))
+                .onErrorResume(e -> Flux.fromIterable(streakUpdates.entrySet())
+                        .concatMap(entry -> releaseFirstSessionOfDay(entry.getKey(), entry.getValue()))
+                        .then(Mono.error(e)));
+    }
+
+    private Mono<Void> recordTodaysDuration(String userId, List<Session> sessions, String timezone) {
+        String key = dailyKey(DURATION_PREFIX, userId, timezone);
+
+        // Same seeding rule as the servlet service: a missing hash is seeded with every stored session of today.
+        return recordDuration(key, false, sessions, timezone)
+                .switchIfEmpty(Mono.defer(() -> getTodaysSessions(userId, timezone)
+                        .collectList()
+                        .flatMap(today -> recordDuration(key, true, today, timezone))))
+                .doOnNext(total -> todayDurationPublisher.publish(userId, timezone, total))
+                .then();
+    }
+
+    private Mono<Long> recordDuration(String key, boolean fullDay, List<Session> sessions, String timezone) {
+        return redisTemplate.execute(RECORD_DURATION_SCRIPT, List.of(key), durationArgs(fullDay, sessions, timezone)).next();
+    }
+
+    private Mono<Boolean> markFirstSessionOfDay(String userId, String timezone) {
+        String key = dailyKey(FIRST_SESSION_PREFIX, userId, timezone);
+
+        return redisTemplate.opsForValue()
+                .setIfAbsent(key, "1", timeUntilMidnight(timezone))
+                .map(Boolean.TRUE::equals)
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> releaseFirstSessionOfDay(String userId, String timezone) {
+        return redisTemplate.delete(dailyKey(FIRST_SESSION_PREFIX, userId, timezone)).then();
+    }
+
+    private Flux<Session> getTodaysSessions(String userId, String userTimeZone) {
+        ZonedDateTime startOfDay = startOfToday(userTimeZone);
+
+        return sessionRepository.findByCompletedAtBetweenAndUserId(startOfDay.toInstant(), startOfDay.plusDays(1).toInstant(), userId);
+    }
+}
@@ -0,0 +1,82 @@
+package app.focusx.service;
+
+import app.focusx.model.Session;
+import app.focusx.web.dto.SessionCreateRequest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+final class SessionDays {
+
+    static final String DURATION_PREFIX = "duration-sessions::";
+    static final String FIRST_SESSION_PREFIX = "first-session::";
+
+    // Records sessions by id in today's hash and returns the total; nil when the hash is missing and no full day was given.
+    static final RedisScript<Long> RECORD_DURATION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/record-daily-duration.lua"), Long.class);
+
+    private SessionDays() {
+    }
+
+    static String dailyKey(String prefix, String userId, String timezone) {
+        return prefix + userId + "::" + LocalDate.now(ZoneId.of(timezone));
+    }
+
+    static Duration timeUntilMidnight(String timezone) {
+        ZoneId zone = ZoneId.of(timezone);
+
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime nextMidnight = now.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+
+        return Duration.between(now, nextMidnight);
+    }
+
+    static ZonedDateTime startOfToday(String timezone) {
+        ZoneId userZone = ZoneId.of(timezone);
+
+        return LocalDate.now(userZone).atStartOfDay(userZone);
+    }
+
+    static Session initializeSession(SessionCreateRequest request, boolean updateStreak) {
+        Instant now = Instant.now();
+
+        return Session.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(request.getUserId())
+                .minutes(request.getMinutes())
+                .completedAt(now)
+                .day(LocalDate.now(ZoneId.of(request.getUserTimezone())).toString())
+                .timezone(request.getUserTimezone())
+                .updateStreak(updateStreak)
+                .eventPending(true)
+                .build();
+    }
+
+    static List<String> durationArgs(boolean fullDay, List<Session> sessions, String timezone) {
+        List<String> args = new ArrayList<>();
+        args.add(fullDay ? "1" : "0");
+        args.add(String.valueOf(timeUntilMidnight(timezone).toSeconds()));
+
+        for (Session session : sessions) {
+            args.add(session.getId());
+            args.add(String.valueOf(session.getMinutes()));
+        }
+
+        return args;
+    }
+
+    // Only the first session of a user in the batch carries the streak update.
+    static List<Session> initializeSessions(List<SessionCreateRequest> requests, Set<String> streakUserIds) {
+        Set<String> unassignedStreakUpdates = new HashSet<>(streakUserIds);
+        List<Session> sessions = new ArrayList<>();
+
+        for (SessionCreateRequest request : requests) {
+            sessions.add(initializeSession(request, unassignedStreakUpdates.remove(request.getUserId())));
+        }
+
+        return sessions;
+    }
+}
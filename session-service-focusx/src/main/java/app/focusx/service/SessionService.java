@@ -1,99 +1,127 @@
 package app.focusx.service;
 
-import app.focusx.messaging.producer.NewSessionEventProducer;
+import app.focusx.messaging.producer.TodayDurationPublisher;
 import app.focusx.model.Session;
 import app.focusx.repository.SessionRepository;
 import app.focusx.web.dto.SessionCreateRequest;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.*;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static app.focusx.service.SessionDays.*;
 
 @Service
+@Profile("!reactive")
 public class SessionService {
 
     private final SessionRepository sessionRepository;
-    private final NewSessionEventProducer producer;
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final StringRedisTemplate redisTemplate;
+
+    private final TodayDurationPublisher todayDurationPublisher;
 
-    public SessionService(SessionRepository sessionRepository, NewSessionEventProducer producer, RedisTemplate<String, String> redisTemplate) {
+    public SessionService(SessionRepository sessionRepository, StringRedisTemplate redisTemplate, TodayDurationPublisher todayDurationPublisher) {
         this.sessionRepository = sessionRepository;
-        this.producer = producer;
         this.redisTemplate = redisTemplate;
+        this.todayDurationPublisher = todayDurationPublisher;
     }
 
-    @CacheEvict(value ="duration", key = "#request.userId")
     public void add(SessionCreateRequest request) {
-        sendNewSessionEvent(request.getUserId(), request.getMinutes(), request.getUserTimezone());
-        sessionRepository.save(initializeSession(request));
-    }
+        boolean updateStreak = markFirstSessionOfDay(request.getUserId(), request.getUserTimezone());
+        Session session = initializeSession(request, updateStreak);
+
+        try {
+            sessionRepository.save(session);
+        } catch (RuntimeException e) {
+            if (updateStreak) releaseFirstSessionOfDay(request.getUserId(), request.getUserTimezone());
+            throw e;
+        }
 
-    public long getTodaysDuration(String userId, String userTimeZone) {
-        String value = redisTemplate.opsForValue().get("duration::" + userId);
+        recordTodaysDuration(request.getUserId(), List.of(session), request.getUserTimezone());
+    }
 
-        if (value != null) {
-            return Long.parseLong(value);
+    public List<Session> addAll(List<SessionCreateRequest> requests) {
+        Map<String, List<SessionCreateRequest>> requestsByUser = requests.stream()
+                .collect(Collectors.groupingBy(SessionCreateRequest::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        // Markers set before a failure are released, so the user's next session still updates the streak.
+        Map<String, String> streakUpdates = new HashMap<>();
+        List<Session> sessions;
+        try {
+            requestsByUser.forEach((userId, userRequests) -> {
+                String timezone = userRequests.get(0).getUserTimezone();
+
+                if (markFirstSessionOfDay(userId, timezone)) {
+                    streakUpdates.put(userId, timezone);
+                }
+            });
+
+            sessions = initializeSessions(requests, streakUpdates.keySet());
+            sessionRepository.insert(sessions);
+        } catch (RuntimeException e) {
+            streakUpdates.forEach(this::releaseFirstSessionOfDay);
+            throw e;
         }
 
+        Map<String, List<Session>> sessionsByUser = sessions.stream().collect(Collectors.groupingBy(Session::getUserId));
+        requestsByUser.forEach((userId, userRequests) ->
+                recordTodaysDuration(userId, sessionsByUser.get(userId), userRequests.get(0).getUserTimezone()));
 
-        Long duration = getTodaysSessions(userId, userTimeZone)
-                .stream()
-                .map(Session::getMinutes)
-                .reduce(0L, Long::sum);
-        cacheWithCustomTTL(userId, duration, userTimeZone);
-
-        return duration;
+        return sessions;
     }
 
-    private void cacheWithCustomTTL(String userId, Long duration, String timezone) {
-        ZoneId zone = ZoneId.of(timezone);
-
-        ZonedDateTime now = ZonedDateTime.now(zone);
-        ZonedDateTime nextMidnight = now.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    public long getTodaysDuration(String userId, String userTimeZone) {
+        List<Object> recorded = redisTemplate.opsForHash().values(dailyKey(DURATION_PREFIX, userId, userTimeZone));
 
-        long diff = Duration.between(now, nextMidnight).toMillis();
-        String key = "duration::" + userId;
+        // Reads never seed the hash; only recording a new session does, so a seed always comes from a sum taken after a write.
+        if (recorded.isEmpty()) {
+            return sumTodaysSessions(userId, userTimeZone);
+        }
 
-        redisTemplate.opsForValue().set(key, duration.toString(), diff, TimeUnit.MILLISECONDS);
+        return recorded.stream().mapToLong(minutes -> Long.parseLong((String) minutes)).sum();
     }
 
-    private void sendNewSessionEvent(String userId, long minutes, String timezone) {
-        boolean updateStreak = getTodaysSessions(userId, timezone).isEmpty();
+    private void recordTodaysDuration(String userId, List<Session> sessions, String timezone) {
+        String key = dailyKey(DURATION_PREFIX, userId, timezone);
+        Long total = recordDuration(key, false, sessions, timezone);
 
-        producer.sendNewSessionAddedEvent(userId, minutes, updateStreak);
-    }
+        // No hash yet: seed it with every stored session of today, read after the write so it includes the new
+        // ones. Sessions are recorded by id, so one seeded or added concurrently by another caller counts once.
+        if (total == null) {
+            total = recordDuration(key, true, getTodaysSessions(userId, timezone), timezone);
+        }
 
-    private List<Session> getTodaysSessions(String userId, String userTimeZone) {
-        ZoneId userZone = ZoneId.of(userTimeZone);
+        todayDurationPublisher.publish(userId, timezone, total);
+    }
 
-        ZonedDateTime startOfDay = LocalDate.now(userZone).atStartOfDay(userZone);
-        ZonedDateTime endOfDay = startOfDay.plusDays(1);
+    private Long recordDuration(String key, boolean fullDay, List<Session> sessions, String timezone) {
+        return redisTemplate.execute(RECORD_DURATION_SCRIPT, List.of(key), durationArgs(fullDay, sessions, timezone).toArray());
+    }
 
-        Instant utcStart = startOfDay.toInstant();
-        Instant utcEnd = endOfDay.toInstant();
+    private boolean markFirstSessionOfDay(String userId, String timezone) {
+        String key = dailyKey(FIRST_SESSION_PREFIX, userId, timezone);
 
-        return sessionRepository.findByCompletedAtBetweenAndUserId(utcStart, utcEnd, userId);
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, "1", timeUntilMidnight(timezone)));
     }
 
-    private Session initializeSession(SessionCreateRequest request) {
-        Instant now = Instant.now();
+    private void releaseFirstSessionOfDay(String userId, String timezone) {
+        redisTemplate.delete(dailyKey(FIRST_SESSION_PREFIX, userId, timezone));
+    }
 
-        return Session.builder()
-                .id(UUID.randomUUID().toString())
-                .userId(request.getUserId())
-                .minutes(request.getMinutes())
-                .completedAt(now)
-                .build();
+    private long sumTodaysSessions(String userId, String userTimeZone) {
+        return getTodaysSessions(userId, userTimeZone)
+                .stream()
+                .map(Session::getMinutes)
+                .reduce(0L, Long::sum);
     }
 
-    public void cleanOldSessionsOlderThan1Day() {
-        Instant oneDayAgo = Instant.now().minus(1, ChronoUnit.DAYS);
-        sessionRepository.deleteByCompletedAtBefore(oneDayAgo);
+    private List<Session> getTodaysSessions(String userId, String userTimeZone) {
+        ZonedDateTime startOfDay = startOfToday(userTimeZone);
+
+        return sessionRepository.findByCompletedAtBetweenAndUserId(startOfDay.toInstant(), startOfDay.plusDays(1).toInstant(), userId);
     }
 }
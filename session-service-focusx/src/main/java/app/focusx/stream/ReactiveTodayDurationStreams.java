@@ -0,0 +1,113 @@
+package app.focusx.stream;
+
+import app.focusx.messaging.event.TodayDurationEvent;
+import app.focusx.messaging.producer.TodayDurationPublisher;
+import app.focusx.service.ReactiveSessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactive counterpart of {@link TodayDurationStreams}. All streams share one Redis subscription.
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class ReactiveTodayDurationStreams {
+
+    private final ReactiveSessionService sessionService;
+    private final ObjectMapper objectMapper;
+    private final Flux<TodayDurationEvent> events;
+
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final Duration heartbeat;
+    private final Duration timeout;
+
+    private final Map<String, AtomicInteger> connectionsPerUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public ReactiveTodayDurationStreams(ReactiveSessionService sessionService,
+                                        ObjectMapper objectMapper,
+                                        @Lazy ReactiveRedisMessageListenerContainer listenerContainer,
+                                        @Value("${sse.max-connections:2000}") int maxConnections,
+                                        @Value("${sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                        @Value("${sse.heartbeat-ms:15000}") long heartbeatMillis,
+                                        @Value("${sse.timeout-ms:1800000}") long timeoutMillis) {
+        this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+        // The container connects on creation, so it is only resolved when the first stream opens.
+        this.events = Flux.defer(() -> listenerContainer.receive(ChannelTopic.of(TodayDurationPublisher.CHANNEL)))
+                .flatMap(message -> parse(message.getMessage()))
+                .share();
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.heartbeat = Duration.ofMillis(heartbeatMillis);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    /**
+     * Opens a stream that starts with the current total. Empty when this node or the user has
+     * reached the connection limit.
+     */
+    public Optional<Flux<ServerSentEvent<Long>>> subscribe(String userId, String timezone) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+
+        AtomicInteger userConnections = connectionsPerUser.computeIfAbsent(userId, id -> new AtomicInteger());
+        if (userConnections.incrementAndGet() > maxConnectionsPerUser) {
+            release(userId, userConnections);
+            return Optional.empty();
+        }
+
+        Flux<Long> updates = events
+                .filter(event -> event.getUserId().equals(userId))
+                .concatMap(event -> timezone.equals(event.getTimezone())
+                        ? Mono.just(event.getMinutes())
+                        : sessionService.getTodaysDuration(userId, timezone));
+
+        Flux<ServerSentEvent<Long>> durations = sessionService.getTodaysDuration(userId, timezone)
+                .concatWith(updates)
+                .map(minutes -> ServerSentEvent.builder(minutes).event(TodayDurationStreams.DURATION_EVENT).build());
+
+        Flux<ServerSentEvent<Long>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<Long>builder().comment("heartbeat").build());
+
+        return Optional.of(Flux.merge(durations, heartbeats)
+                .take(timeout)
+                .doFinally(signal -> release(userId, userConnections)));
+    }
+
+    private void release(String userId, AtomicInteger userConnections) {
+        connections.decrementAndGet();
+        if (userConnections.decrementAndGet() == 0) {
+            connectionsPerUser.remove(userId, userConnections);
+        }
+    }
+
+    private Mono<TodayDurationEvent> parse(String message) {
+        try {
+            return Mono.just(objectMapper.readValue(message, TodayDurationEvent.class));
+        } catch (IOException e) {
+            log.warn("Ignoring malformed today's duration update", e);
+            return Mono.empty();
+        }
+    }
+}
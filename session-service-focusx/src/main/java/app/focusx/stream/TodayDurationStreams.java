@@ -0,0 +1,192 @@
+package app.focusx.stream;
+
+import app.focusx.messaging.event.TodayDurationEvent;
+import app.focusx.service.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps this node's SSE connections for today's duration and pushes the totals published on
+ * {@link app.focusx.messaging.producer.TodayDurationPublisher#CHANNEL} to them.
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class TodayDurationStreams implements MessageListener {
+
+    static final String DURATION_EVENT = "duration";
+
+    private final SessionService sessionService;
+    private final ObjectMapper objectMapper;
+
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+
+    // Updates are fanned out off the Redis listener thread, which would otherwise wait on Redis and Mongo for
+    // subscribers in other timezones. A full queue drops the update; the next one or a poll corrects it.
+    private final ThreadPoolExecutor pushExecutor;
+    // Heartbeats write to every open stream, so they get their own thread rather than the shared scheduler.
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public TodayDurationStreams(SessionService sessionService,
+                                ObjectMapper objectMapper,
+                                @Value("${sse.max-connections:2000}") int maxConnections,
+                                @Value("${sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                @Value("${sse.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${sse.heartbeat-ms:15000}") long heartbeatMillis,
+                                @Value("${sse.push-threads:4}") int pushThreads,
+                                @Value("${sse.push-queue-capacity:1000}") int pushQueueCapacity) {
+        this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.pushExecutor = new ThreadPoolExecutor(pushThreads, pushThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pushQueueCapacity), Thread.ofPlatform().name("sse-push-", 1).daemon().factory(),
+                (update, executor) -> log.warn("Dropping today's duration update, the push queue is full"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHeartbeats() {
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeatScheduler.shutdownNow();
+        pushExecutor.shutdownNow();
+    }
+
+    /**
+     * Opens a stream that starts with the current total. Empty when this node or the user has
+     * reached the connection limit.
+     */
+    public Optional<SseEmitter> subscribe(String userId, String timezone) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+
+        Subscription subscription = new Subscription(userId, timezone, new SseEmitter(timeoutMillis));
+
+        subscriptions.compute(userId, (id, userSubscriptions) -> {
+            Set<Subscription> current = userSubscriptions != null ? userSubscriptions : ConcurrentHashMap.newKeySet();
+            if (current.size() < maxConnectionsPerUser) {
+                current.add(subscription);
+            }
+            return current.isEmpty() ? null : current;
+        });
+
+        if (!subscriptions.getOrDefault(userId, Set.of()).contains(subscription)) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        send(subscription, sessionService.getTodaysDuration(userId, timezone));
+
+        return Optional.of(emitter);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        TodayDurationEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), TodayDurationEvent.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed today's duration update", e);
+            return;
+        }
+
+        if (subscriptions.containsKey(event.getUserId())) {
+            pushExecutor.execute(() -> push(event));
+        }
+    }
+
+    private void push(TodayDurationEvent event) {
+        for (Subscription subscription : subscriptions.getOrDefault(event.getUserId(), Set.of())) {
+            // The published total is per local day, so clients in another timezone re-read their own.
+            long minutes = subscription.timezone.equals(event.getTimezone())
+                    ? event.getMinutes()
+                    : sessionService.getTodaysDuration(event.getUserId(), subscription.timezone);
+
+            send(subscription, minutes);
+        }
+    }
+
+    void sendHeartbeats() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> {
+            try {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscription);
+            }
+        }));
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    private void send(Subscription subscription, long minutes) {
+        try {
+            subscription.emitter.send(SseEmitter.event().name(DURATION_EVENT).data(minutes));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscription);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscription.open.compareAndSet(true, false)) {
+            return;
+        }
+
+        connections.decrementAndGet();
+        subscriptions.computeIfPresent(subscription.userId, (id, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+        subscription.emitter.complete();
+    }
+
+    private static final class Subscription {
+        private final String userId;
+        private final String timezone;
+        private final SseEmitter emitter;
+        private final AtomicBoolean open = new AtomicBoolean(true);
+
+        private Subscription(String userId, String timezone, SseEmitter emitter) {
+            this.userId = userId;
+            this.timezone = timezone;
+            this.emitter = emitter;
+        }
+    }
+}
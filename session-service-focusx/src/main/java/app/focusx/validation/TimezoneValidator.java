@@ -0,0 +1,23 @@
+package app.focusx.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+public class TimezoneValidator implements ConstraintValidator<ValidTimezone, String> {
+
+    @Override
+    public boolean isValid(String timezone, ConstraintValidatorContext context) {
+        // Blank values are reported by @NotBlank.
+        if (timezone == null || timezone.isBlank()) return true;
+
+        try {
+            ZoneId.of(timezone);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+}
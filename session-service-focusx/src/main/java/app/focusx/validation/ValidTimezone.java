@@ -0,0 +1,18 @@
+package app.focusx.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = TimezoneValidator.class)
+public @interface ValidTimezone {
+    String message() default "must be a valid time zone ID";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,90 @@
+package app.focusx.web;
+
+import app.focusx.model.Session;
+import app.focusx.service.DailyFocusService;
+import app.focusx.service.ReactiveSessionService;
+import app.focusx.stream.ReactiveTodayDurationStreams;
+import app.focusx.web.dto.DailyFocusRangeResponse;
+import app.focusx.web.dto.SessionBatchResponse;
+import app.focusx.web.dto.SessionCreateRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/sessions")
+public class ReactiveSessionController {
+
+    private final ReactiveSessionService sessionService;
+    private final DailyFocusService dailyFocusService;
+    private final ReactiveTodayDurationStreams todayDurationStreams;
+    private final Validator validator;
+
+    public ReactiveSessionController(ReactiveSessionService sessionService, DailyFocusService dailyFocusService, ReactiveTodayDurationStreams todayDurationStreams, Validator validator) {
+        this.sessionService = sessionService;
+        this.dailyFocusService = dailyFocusService;
+        this.todayDurationStreams = todayDurationStreams;
+        this.validator = validator;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Void>> createSession(@RequestBody @Valid SessionCreateRequest request) {
+        return sessionService.add(request)
+                .then(Mono.just(ResponseEntity.status(HttpStatus.CREATED).build()));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<SessionBatchResponse>> createSessions(@RequestBody List<SessionCreateRequest> requests) {
+        if (!SessionBatch.hasValidSize(requests)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        SessionBatch batch = SessionBatch.validate(requests, validator);
+        Mono<List<Session>> createdSessions = batch.getValidRequests().isEmpty()
+                ? Mono.just(List.of())
+                : sessionService.addAll(batch.getValidRequests());
+
+        return createdSessions.map(batch::toResponse);
+    }
+
+    @GetMapping("/{userId}/today")
+    public Mono<Long> getTodaySessionsDuration(@PathVariable("userId") String userId, @RequestHeader("User-Timezone") String userTimezone) {
+        return sessionService.getTodaysDuration(userId, userTimezone);
+    }
+
+    @GetMapping(value = "/{userId}/today/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Long>>> streamTodaySessionsDuration(@PathVariable("userId") String userId, @RequestHeader("User-Timezone") String userTimezone) {
+        return todayDurationStreams.subscribe(userId, userTimezone)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, SessionController.STREAM_RETRY_AFTER_SECONDS)
+                        .build());
+    }
+
+    @GetMapping("/{userId}/daily")
+    public Mono<ResponseEntity<DailyFocusRangeResponse>> getDailyFocus(@PathVariable("userId") String userId,
+                                                                       @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                       @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!DailyFocusService.isValidRange(from, to)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        // The rollup buckets are read through the blocking MongoTemplate shared with the scheduler.
+        return Mono.fromCallable(() -> ResponseEntity.ok(dailyFocusService.getRange(userId, from, to)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
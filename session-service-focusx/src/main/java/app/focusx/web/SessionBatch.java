@@ -0,0 +1,104 @@
+package app.focusx.web;
+
+import app.focusx.model.Session;
+import app.focusx.web.dto.FieldError;
+import app.focusx.web.dto.SessionBatchItemResult;
+import app.focusx.web.dto.SessionBatchResponse;
+import app.focusx.web.dto.SessionCreateRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.*;
+
+final class SessionBatch {
+
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final int size;
+    private final List<SessionBatchItemResult> results = new ArrayList<>();
+    private final List<SessionCreateRequest> validRequests = new ArrayList<>();
+    private final List<Integer> validIndexes = new ArrayList<>();
+
+    private SessionBatch(int size) {
+        this.size = size;
+    }
+
+    static boolean hasValidSize(List<SessionCreateRequest> requests) {
+        return !requests.isEmpty() && requests.size() <= MAX_BATCH_SIZE;
+    }
+
+    static SessionBatch validate(List<SessionCreateRequest> requests, Validator validator) {
+        SessionBatch batch = new SessionBatch(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                batch.results.add(SessionBatchItemResult.builder()
+                        .index(i)
+                        .created(false)
+                        .fieldErrors(List.of(FieldError.builder()
+                                .field("")
+                                .message("must not be null")
+                                .code("NotNull")
+                                .build()))
+                        .build());
+                continue;
+            }
+
+            Set<ConstraintViolation<SessionCreateRequest>> violations = validator.validate(requests.get(i));
+
+            if (violations.isEmpty()) {
+                batch.validRequests.add(requests.get(i));
+                batch.validIndexes.add(i);
+            } else {
+                batch.results.add(SessionBatchItemResult.builder()
+                        .index(i)
+                        .created(false)
+                        .fieldErrors(violations.stream().map(SessionBatch::toFieldError).toList())
+                        .build());
+            }
+        }
+
+        return batch;
+    }
+
+    List<SessionCreateRequest> getValidRequests() {
+        return validRequests;
+    }
+
+    ResponseEntity<SessionBatchResponse> toResponse(List<Session> createdSessions) {
+        Iterator<Integer> indexes = validIndexes.iterator();
+
+        for (Session session : createdSessions) {
+            results.add(SessionBatchItemResult.builder()
+                    .index(indexes.next())
+                    .created(true)
+                    .sessionId(session.getId())
+                    .build());
+        }
+
+        results.sort(Comparator.comparingInt(SessionBatchItemResult::index));
+
+        SessionBatchResponse response = SessionBatchResponse.builder()
+                .created(validRequests.size())
+                .rejected(size - validRequests.size())
+                .results(results)
+                .build();
+
+        HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED
+                : response.getCreated() == 0 ? HttpStatus.BAD_REQUEST
+                : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
+    }
+
+    private static FieldError toFieldError(ConstraintViolation<SessionCreateRequest> violation) {
+        return FieldError.builder()
+                .field(violation.getPropertyPath().toString())
+                .message(violation.getMessage())
+                .rejectedValue(violation.getInvalidValue())
+                .code(violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName())
+                .build();
+    }
+}
@@ -1,26 +1,49 @@
 package app.focusx.web;
 
 
+import app.focusx.model.Session;
+import app.focusx.service.DailyFocusService;
 import app.focusx.service.SessionService;
+import app.focusx.stream.TodayDurationStreams;
+import app.focusx.web.dto.DailyFocusRangeResponse;
+import app.focusx.web.dto.SessionBatchResponse;
 import app.focusx.web.dto.SessionCreateRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/sessions")
 @Tag(name = "Sessions", description = "Endpoints for managing focus sessions")
 public class SessionController {
 
+    static final String STREAM_RETRY_AFTER_SECONDS = "30";
+
     private final SessionService sessionService;
+    private final DailyFocusService dailyFocusService;
+    private final TodayDurationStreams todayDurationStreams;
+    private final Validator validator;
 
-    public SessionController(SessionService sessionService) {
+    public SessionController(SessionService sessionService, DailyFocusService dailyFocusService, TodayDurationStreams todayDurationStreams, Validator validator) {
         this.sessionService = sessionService;
+        this.dailyFocusService = dailyFocusService;
+        this.todayDurationStreams = todayDurationStreams;
+        this.validator = validator;
     }
 
     @Operation(
@@ -38,6 +61,29 @@ public class SessionController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @Operation(
+            summary = "Create sessions in batch",
+            description = "Stores up to 100 sessions at once, e.g. when an offline client reconnects. Each item is validated on its own and reported in the results."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All sessions created successfully"),
+            @ApiResponse(responseCode = "207", description = "Some sessions were rejected, see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty batch, more than 100 sessions, or every session rejected, see the per-item results")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<SessionBatchResponse> createSessions(@RequestBody List<SessionCreateRequest> requests) {
+        if (!SessionBatch.hasValidSize(requests)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SessionBatch batch = SessionBatch.validate(requests, validator);
+        List<Session> createdSessions = batch.getValidRequests().isEmpty()
+                ? List.of()
+                : sessionService.addAll(batch.getValidRequests());
+
+        return batch.toResponse(createdSessions);
+    }
+
     @Operation(
             summary = "Get today's session duration",
             description = "Retrieves the total duration of today's sessions for a user, adjusted to the user's timezone."
@@ -48,4 +94,40 @@ public class SessionController {
         return sessionService.getTodaysDuration(userId, userTimezone);
     }
 
+    @Operation(
+            summary = "Stream today's session duration",
+            description = "Server-Sent Events stream that sends the current total as a 'duration' event and a new one whenever a session is added for the user."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "503", description = "Connection limit reached, keep polling the today endpoint")
+    })
+    @GetMapping(value = "/{userId}/today/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTodaySessionsDuration(@PathVariable("userId") String userId, @RequestHeader("User-Timezone") String userTimezone) {
+        return todayDurationStreams.subscribe(userId, userTimezone)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, STREAM_RETRY_AFTER_SECONDS)
+                        .build());
+    }
+
+    @Operation(
+            summary = "Get daily focus totals",
+            description = "Returns the per-day focus minutes and session counts of a user between two local dates (inclusive), at most 366 days."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved daily focus totals"),
+            @ApiResponse(responseCode = "400", description = "Range is reversed or longer than 366 days")
+    })
+    @GetMapping("/{userId}/daily")
+    public ResponseEntity<DailyFocusRangeResponse> getDailyFocus(@PathVariable("userId") String userId,
+                                                                 @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!DailyFocusService.isValidRange(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(dailyFocusService.getRange(userId, from, to));
+    }
+
 }
@@ -0,0 +1,10 @@
+package app.focusx.web.dto;
+
+import lombok.Builder;
+
+@Builder
+public record DailyFocusDay(
+        String day,
+        long minutes,
+        long count
+) {}
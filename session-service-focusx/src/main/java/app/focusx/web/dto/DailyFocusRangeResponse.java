@@ -0,0 +1,17 @@
+package app.focusx.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DailyFocusRangeResponse {
+
+    private String from;
+    private String to;
+    private long totalMinutes;
+    private long totalSessions;
+    private List<DailyFocusDay> days;
+}
@@ -0,0 +1,13 @@
+package app.focusx.web.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record SessionBatchItemResult(
+        int index,
+        boolean created,
+        String sessionId,
+        List<FieldError> fieldErrors
+) {}
@@ -0,0 +1,15 @@
+package app.focusx.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SessionBatchResponse {
+
+    private int created;
+    private int rejected;
+    private List<SessionBatchItemResult> results;
+}
@@ -1,5 +1,6 @@
 package app.focusx.web.dto;
 
+import app.focusx.validation.ValidTimezone;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -14,5 +15,6 @@ public class SessionCreateRequest {
     private long minutes;
 
     @NotBlank
+    @ValidTimezone
     private String userTimezone;
 }
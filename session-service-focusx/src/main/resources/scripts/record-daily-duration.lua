@@ -0,0 +1,23 @@
+-- KEYS[1]: hash of today's session minutes, keyed by session id
+-- ARGV[1]: '1' when the sessions are every stored session of today, '0' when they are only the new ones
+-- ARGV[2]: seconds until the hash expires
+-- ARGV[3..]: session id and minutes pairs
+-- Returns today's total, or nil when the hash is missing and only the new sessions were given.
+if ARGV[1] == '0' and redis.call('EXISTS', KEYS[1]) == 0 then
+    return nil
+end
+
+-- A session already recorded by a concurrent seed or add keeps its single entry.
+for i = 3, #ARGV, 2 do
+    redis.call('HSETNX', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+
+if redis.call('TTL', KEYS[1]) == -1 then
+    redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+
+local total = 0
+for _, minutes in ipairs(redis.call('HVALS', KEYS[1])) do
+    total = total + tonumber(minutes)
+end
+return total
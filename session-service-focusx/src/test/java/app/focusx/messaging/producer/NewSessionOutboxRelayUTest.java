@@ -0,0 +1,175 @@
+package app.focusx.messaging.producer;
+
+import app.focusx.model.Session;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewSessionOutboxRelayUTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private NewSessionEventProducer producer;
+
+    private NewSessionOutboxRelay relay;
+
+    @BeforeEach
+    void setup() {
+        relay = new NewSessionOutboxRelay(mongoTemplate, producer, 200, 2, 30000, 500, false);
+    }
+
+    @Test
+    void givenNoPendingSessions_whenRelay_thenSendsNothing() {
+        when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(producer);
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Session.class));
+    }
+
+    @Test
+    void givenPendingSessionsOfOneUser_whenRelay_thenSendsOneCoalescedEventAndMarksThemPublished() {
+        String userId = UUID.randomUUID().toString();
+        Session first = pendingSession(userId, 20, true);
+        Session second = pendingSession(userId, 25, false);
+
+        when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(List.of(first, second));
+        when(producer.sendNewSessionAddedEvent(userId, 45L, true, "Europe/Bucharest")).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), updateCaptor.capture(), eq(Session.class));
+
+        Document published = updateCaptor.getAllValues().get(1).getUpdateObject();
+        assertThat(published.get("$set", Document.class).get("eventPending")).isEqualTo(false);
+    }
+
+    @Test
+    void givenFailedSend_whenRelay_thenLeavesSessionsPendingAndReleasesTheLease() {
+        String userId = UUID.randomUUID().toString();
+        Session session = pendingSession(userId, 20, false);
+
+        when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(List.of(session));
+        when(producer.sendNewSessionAddedEvent(userId, 20L, false, "Europe/Bucharest"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        relay.relay();
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), updateCaptor.capture(), eq(Session.class));
+
+        Document released = updateCaptor.getAllValues().get(1).getUpdateObject();
+        assertThat(released).doesNotContainKey("$set");
+        assertThat(released.get("$unset", Document.class)).containsOnlyKeys("eventLockOwner", "eventLockedUntil");
+    }
+
+    @Test
+    void givenPendingSessionsOnTwoDays_whenRelay_thenRelaysOnlyTheEarlierDayAndReleasesTheLater() {
+        String userId = UUID.randomUUID().toString();
+        Session yesterday = pendingSession(userId, 20, true);
+        yesterday.setDay("2026-10-17");
+        Session today = pendingSession(userId, 25, true);
+        today.setDay("2026-10-18");
+
+        when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(List.of(yesterday, today));
+        when(producer.sendNewSessionAddedEvent(userId, 20L, true, "Europe/Bucharest")).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(producer, times(1)).sendNewSessionAddedEvent(any(), anyLong(), anyBoolean(), any());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).updateMulti(queryCaptor.capture(), updateCaptor.capture(), eq(Session.class));
+
+        assertThat(idsOf(queryCaptor.getAllValues().get(1))).containsExactly(today.getId());
+        assertThat(updateCaptor.getAllValues().get(1).getUpdateObject()).containsOnlyKeys("$unset");
+        assertThat(idsOf(queryCaptor.getAllValues().get(2))).containsExactly(yesterday.getId());
+        assertThat(updateCaptor.getAllValues().get(2).getUpdateObject().get("$set", Document.class).get("eventPending")).isEqualTo(false);
+    }
+
+    @Test
+    void givenEarlierSessionHeldByAnotherReplica_whenRelay_thenReleasesTheUsersLaterSessionsUnsent() {
+        String userId = UUID.randomUUID().toString();
+        Session held = pendingSession(userId, 10, true);
+        held.setCompletedAt(Instant.now().minusSeconds(60));
+        Session claimed = pendingSession(userId, 20, false);
+
+        when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(List.of(claimed));
+        when(mongoTemplate.find(argThat(query -> query.getQueryObject().containsKey("userId")), eq(Session.class)))
+                .thenReturn(List.of(held));
+
+        relay.relay();
+
+        verifyNoInteractions(producer);
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(queryCaptor.capture(), updateCaptor.capture(), eq(Session.class));
+
+        assertThat(idsOf(queryCaptor.getAllValues().get(1))).containsExactly(claimed.getId());
+        assertThat(updateCaptor.getAllValues().get(1).getUpdateObject()).containsOnlyKeys("$unset");
+    }
+
+    @Test
+    void givenSlowBroker_whenRelay_thenRenewsLeaseUntilSendCompletes() {
+        relay = new NewSessionOutboxRelay(mongoTemplate, producer, 200, 2, 30, 500, false);
+        String userId = UUID.randomUUID().toString();
+        Session session = pendingSession(userId, 20, false);
+        CompletableFuture<Void> slowSend = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> slowSend.complete(null));
+
+        when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(List.of(session));
+        doReturn(slowSend).when(producer).sendNewSessionAddedEvent(userId, 20L, false, "Europe/Bucharest");
+
+        relay.relay();
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeast(3)).updateMulti(any(Query.class), updateCaptor.capture(), eq(Session.class));
+
+        List<Document> sets = updateCaptor.getAllValues().stream()
+                .map(update -> update.getUpdateObject().get("$set", Document.class))
+                .toList();
+        assertThat(sets.subList(1, sets.size() - 1)).allSatisfy(set -> assertThat(set).containsOnlyKeys("eventLockedUntil"));
+        assertThat(sets.getLast().get("eventPending")).isEqualTo(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> idsOf(Query query) {
+        return (List<String>) query.getQueryObject().get("_id", Document.class).get("$in");
+    }
+
+        private Session pendingSession(String userId, long minutes, boolean updateStreak) {
+        return Session.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .minutes(minutes)
+                .completedAt(Instant.now())
+                .timezone("Europe/Bucharest")
+                .updateStreak(updateStreak)
+                .eventPending(true)
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package app.focusx.repository;
+
+import app.focusx.config.MongoIndexConfig;
+import app.focusx.model.DailyFocus;
+import app.focusx.model.RollupState;
+import app.focusx.model.Session;
+import app.focusx.service.DailyFocusService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+public class DailyFocusRepositoryITest {
+
+    private static final String MONGO_URI = "mongodb://localhost:27017/?serverSelectionTimeoutMS=1000";
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private DailyFocusService dailyFocusService;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(MONGO_URI);
+
+        try {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            client.close();
+            assumeTrue(false, "MongoDB is not reachable on localhost:27017");
+        }
+
+        mongoTemplate = new MongoTemplate(client, "testdb");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (mongoTemplate != null) {
+            mongoTemplate.dropCollection(Session.class);
+            mongoTemplate.dropCollection(DailyFocus.class);
+            mongoTemplate.dropCollection(RollupState.class);
+            client.close();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(Session.class);
+        mongoTemplate.dropCollection(DailyFocus.class);
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+
+        mongoTemplate.dropCollection(RollupState.class);
+        dailyFocusService = new DailyFocusService(mongoTemplate, mock(DailyFocusRepository.class), 300000, 0);
+    }
+
+    @Test
+    void givenSessionsOfOneDay_whenRollUpTwice_thenBucketHoldsTotalsOnce() {
+        String userId = UUID.randomUUID().toString();
+        saveSession(userId, "2026-10-18", 25);
+        saveSession(userId, "2026-10-18", 50);
+
+        dailyFocusService.rollUp();
+        dailyFocusService.rollUp();
+
+        DailyFocus bucket = findBucket(userId, "2026-10-18");
+        assertThat(bucket.getMinutes()).isEqualTo(75);
+        assertThat(bucket.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givenPartOfTheDayExpired_whenRollUp_thenBucketKeepsLargerTotal() {
+        String userId = UUID.randomUUID().toString();
+        String expiring = saveSession(userId, "2026-10-18", 25);
+        saveSession(userId, "2026-10-18", 50);
+
+        dailyFocusService.rollUp();
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(expiring)), Session.class);
+        dailyFocusService.rollUp();
+
+        assertThat(findBucket(userId, "2026-10-18").getMinutes()).isEqualTo(75);
+    }
+
+    @Test
+    void givenRolledUpDay_whenMoreSessionsComplete_thenNextRunAddsOnlyThem() {
+        String userId = UUID.randomUUID().toString();
+        saveSession(userId, "2026-10-18", 25);
+        dailyFocusService.rollUp();
+
+        saveSession(userId, "2026-10-18", 50);
+        dailyFocusService.rollUp();
+        dailyFocusService.rollUp();
+
+        DailyFocus bucket = findBucket(userId, "2026-10-18");
+        assertThat(bucket.getMinutes()).isEqualTo(75);
+        assertThat(bucket.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givenSliceMergedBeforeRunnerStopped_whenAnotherReplicaFinishesIt_thenBucketCountedOnce() {
+        String userId = UUID.randomUUID().toString();
+        saveSession(userId, "2026-10-18", 25);
+        dailyFocusService.rollUp();
+        Instant firstSliceEnd = findState().getRolledUpTo();
+
+        saveSession(userId, "2026-10-18", 50);
+        dailyFocusService.rollUp();
+
+        // Rewind the state as if the runner stopped after merging the second slice but before recording it.
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(DailyFocusService.ROLLUP_ID)),
+                new Update().set("rolledUpTo", firstSliceEnd)
+                        .set("pendingUntil", findState().getRolledUpTo())
+                        .unset("lockedUntil"),
+                RollupState.class);
+
+        new DailyFocusService(mongoTemplate, mock(DailyFocusRepository.class), 300000, 0).rollUp();
+
+        assertThat(findBucket(userId, "2026-10-18").getMinutes()).isEqualTo(75);
+        assertThat(findState().getPendingUntil()).isNull();
+    }
+
+    @Test
+    void givenLeaseHeldByAnotherReplica_whenRollUp_thenBucketsUntouched() {
+        String userId = UUID.randomUUID().toString();
+        dailyFocusService.rollUp();
+        saveSession(userId, "2026-10-18", 25);
+
+        new DailyFocusService(mongoTemplate, mock(DailyFocusRepository.class), 300000, 0).rollUp();
+
+        assertThat(findBucket(userId, "2026-10-18")).isNull();
+    }
+
+    private String saveSession(String userId, String day, long minutes) {
+        String id = UUID.randomUUID().toString();
+
+        mongoTemplate.save(Session.builder()
+                .id(id)
+                .userId(userId)
+                .day(day)
+                .minutes(minutes)
+                .completedAt(Instant.now())
+                .build());
+
+        return id;
+    }
+
+    private RollupState findState() {
+        return mongoTemplate.findById(DailyFocusService.ROLLUP_ID, RollupState.class);
+    }
+
+    private DailyFocus findBucket(String userId, String day) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("userId").is(userId).and("day").is(day)), DailyFocus.class);
+    }
+}
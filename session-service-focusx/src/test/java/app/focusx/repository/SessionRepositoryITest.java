@@ -0,0 +1,117 @@
+package app.focusx.repository;
+
+import app.focusx.config.MongoIndexConfig;
+import app.focusx.model.Session;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SessionRepositoryITest {
+
+    private static final String MONGO_URI = "mongodb://localhost:27017/?serverSelectionTimeoutMS=1000";
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(MONGO_URI);
+
+        try {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            client.close();
+            assumeTrue(false, "MongoDB is not reachable on localhost:27017");
+        }
+
+        mongoTemplate = new MongoTemplate(client, "testdb");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (mongoTemplate != null) {
+            mongoTemplate.dropCollection(Session.class);
+            client.close();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(Session.class);
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+    }
+
+    @Test
+    void givenIndexesEnsured_thenTtlIndexExpiresCompletedAt() {
+        IndexInfo ttlIndex = mongoTemplate.indexOps(Session.class)
+                .getIndexInfo()
+                .stream()
+                .filter(index -> index.getName().equals(Session.COMPLETED_AT_TTL_INDEX))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(ttlIndex.getExpireAfter()).isPresent();
+    }
+
+    @Test
+    void givenTodaysSessionsQuery_thenWinningPlanScansCompoundIndex() {
+        String userId = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+
+        for (int i = 0; i < 50; i++) {
+            mongoTemplate.save(Session.builder()
+                    .id(UUID.randomUUID().toString())
+                    .userId(i % 2 == 0 ? userId : UUID.randomUUID().toString())
+                    .minutes(25)
+                    .completedAt(now.minus(i, ChronoUnit.HOURS))
+                    .build());
+        }
+
+        Bson todaysSessions = Filters.and(
+                Filters.gt("completedAt", Date.from(now.minus(1, ChronoUnit.DAYS))),
+                Filters.lt("completedAt", Date.from(now.plus(1, ChronoUnit.MINUTES))),
+                Filters.eq("userId", userId));
+
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Session.class))
+                .find(todaysSessions)
+                .explain();
+
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+
+        assertThat(indexScans(winningPlan)).containsExactly(Session.USER_COMPLETED_AT_INDEX);
+    }
+
+    private List<String> indexScans(Document stage) {
+        List<String> indexNames = new ArrayList<>();
+
+        if ("IXSCAN".equals(stage.getString("stage"))) {
+            indexNames.add(stage.getString("indexName"));
+        }
+
+        for (Object value : stage.values()) {
+            if (value instanceof Document child) {
+                indexNames.addAll(indexScans(child));
+            }
+        }
+
+        return indexNames;
+    }
+}
@@ -0,0 +1,49 @@
+package app.focusx.scheduler;
+
+import app.focusx.config.MongoIndexConfig;
+import app.focusx.service.DailyFocusService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyFocusRollupSchedulerUTest {
+
+    @Mock
+    private DailyFocusService dailyFocusService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void givenApplicationReady_whenStart_thenSchedulesRollupWithConfiguredDelay() {
+        DailyFocusRollupScheduler scheduler = new DailyFocusRollupScheduler(dailyFocusService, taskScheduler, 60000);
+
+        scheduler.start();
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).scheduleWithFixedDelay(task.capture(), eq(Duration.ofMinutes(1)));
+        verifyNoInteractions(dailyFocusService);
+
+        task.getValue().run();
+        verify(dailyFocusService).rollUp();
+    }
+
+    @Test
+    void givenReadyListeners_thenIndexesAreEnsuredBeforeRollupStarts() throws Exception {
+        Integer indexOrder = OrderUtils.getOrder(MongoIndexConfig.class.getMethod("ensureIndexes"));
+        Integer rollupOrder = OrderUtils.getOrder(DailyFocusRollupScheduler.class.getMethod("start"));
+
+        assertThat(indexOrder).isNotNull();
+        assertThat(rollupOrder == null || indexOrder < rollupOrder).isTrue();
+    }
+}
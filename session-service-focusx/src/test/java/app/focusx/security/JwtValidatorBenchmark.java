@@ -0,0 +1,73 @@
+package app.focusx.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of validating the same access token. Run with
+ * {@code java -cp <test classpath> app.focusx.security.JwtValidatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidatorBenchmark {
+
+    private RSAPublicKey publicKey;
+    private JwtParser sharedParser;
+    private JwtValidator jwtValidator;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        publicKey = (RSAPublicKey) keyPair.getPublic();
+        sharedParser = Jwts.parser().verifyWith(publicKey).build();
+        jwtValidator = new JwtValidator(publicKey, new SimpleMeterRegistry(), 10_000);
+        token = Jwts.builder()
+                .subject("benchmark-user")
+                .claim("role", "ROLE_USER")
+                .expiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    // What validateToken did before: build a parser and verify the signature on every call.
+    @Benchmark
+    public Claims parserPerCall() {
+        return Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cachedValidator() {
+        return jwtValidator.validateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,162 @@
+package app.focusx.service;
+
+import app.focusx.model.DailyFocus;
+import app.focusx.model.RollupState;
+import app.focusx.model.Session;
+import app.focusx.repository.DailyFocusRepository;
+import app.focusx.web.dto.DailyFocusRangeResponse;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyFocusServiceUTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private DailyFocusRepository dailyFocusRepository;
+
+    private DailyFocusService dailyFocusService;
+
+    @BeforeEach
+    void setup() {
+        dailyFocusService = new DailyFocusService(mongoTemplate, dailyFocusRepository, 300000, 60000);
+    }
+
+    @Test
+    void givenFirstRun_whenRollUp_thenGroupsRecentSessionsPerUserAndDayAndMergesLargestTotals() {
+        givenLeaseClaimed(RollupState.builder().id(DailyFocusService.ROLLUP_ID).build());
+
+        dailyFocusService.rollUp();
+
+        List<Document> pipeline = capturePipeline();
+
+        Document group = pipeline.get(1).get("$group", Document.class);
+        assertThat(group.get("_id", Document.class)).containsEntry("userId", "$userId").containsEntry("day", "$day");
+
+        Document merge = pipeline.getLast().get("$merge", Document.class);
+        assertThat(merge.getString("into")).isEqualTo(DailyFocus.COLLECTION);
+        assertThat(merge.getList("on", String.class)).containsExactly("userId", "day");
+        assertThat(merge.toJson()).contains("$max").doesNotContain("$add");
+
+        verify(mongoTemplate).updateFirst(any(Query.class), argThat(setsField("rolledUpTo")), eq(RollupState.class));
+    }
+
+    @Test
+    void givenRolledUpBefore_whenRollUp_thenAddsOnlySessionsCompletedSinceLastRun() {
+        Instant rolledUpTo = Instant.now().minus(Duration.ofMinutes(10));
+        givenLeaseClaimed(RollupState.builder().id(DailyFocusService.ROLLUP_ID).rolledUpTo(rolledUpTo).build());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(RollupState.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        dailyFocusService.rollUp();
+
+        List<Document> pipeline = capturePipeline();
+
+        Document completedAt = pipeline.getFirst().get("$match", Document.class).get("completedAt", Document.class);
+        assertThat(completedAt).containsEntry("$gt", rolledUpTo).containsKey("$lte");
+        assertThat(pipeline.getLast().toJson()).contains("$add").contains("$cond");
+
+        InOrder inOrder = inOrder(mongoTemplate);
+        inOrder.verify(mongoTemplate).updateFirst(any(Query.class), argThat(setsField("pendingUntil")), eq(RollupState.class));
+        inOrder.verify(mongoTemplate).aggregate(any(Aggregation.class), eq(Session.class), eq(Document.class));
+        inOrder.verify(mongoTemplate).updateFirst(any(Query.class), argThat(setsField("rolledUpTo")), eq(RollupState.class));
+    }
+
+    @Test
+    void givenSliceLeftPendingByPreviousRunner_whenRollUp_thenFinishesThatSlice() {
+        Instant rolledUpTo = Instant.now().minus(Duration.ofMinutes(10));
+        Instant pendingUntil = rolledUpTo.plus(Duration.ofMinutes(5));
+        givenLeaseClaimed(RollupState.builder()
+                .id(DailyFocusService.ROLLUP_ID)
+                .rolledUpTo(rolledUpTo)
+                .pendingUntil(pendingUntil)
+                .build());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(RollupState.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        dailyFocusService.rollUp();
+
+        Document completedAt = capturePipeline().getFirst().get("$match", Document.class).get("completedAt", Document.class);
+        assertThat(completedAt).containsEntry("$gt", rolledUpTo).containsEntry("$lte", pendingUntil);
+    }
+
+    @Test
+    void givenLeaseHeldByOtherReplica_whenRollUp_thenDoesNothing() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(RollupState.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        dailyFocusService.rollUp();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Session.class), eq(Document.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(RollupState.class));
+    }
+
+    @Test
+    void givenBucketsInRange_whenGetRange_thenReturnsDaysAndTotals() {
+        String userId = UUID.randomUUID().toString();
+        LocalDate from = LocalDate.of(2026, 10, 1);
+        LocalDate to = LocalDate.of(2026, 10, 7);
+
+        when(dailyFocusRepository.findByUserIdAndDayRange(userId, "2026-10-01", "2026-10-07")).thenReturn(List.of(
+                DailyFocus.builder().userId(userId).day("2026-10-02").minutes(50).count(2).build(),
+                DailyFocus.builder().userId(userId).day("2026-10-05").minutes(25).count(1).build()));
+
+        DailyFocusRangeResponse response = dailyFocusService.getRange(userId, from, to);
+
+        assertThat(response.getTotalMinutes()).isEqualTo(75);
+        assertThat(response.getTotalSessions()).isEqualTo(3);
+        assertThat(response.getDays()).extracting("day").containsExactly("2026-10-02", "2026-10-05");
+    }
+
+    private void givenLeaseClaimed(RollupState state) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(RollupState.class)))
+                .thenReturn(state);
+    }
+
+    private List<Document> capturePipeline() {
+        ArgumentCaptor<Aggregation> aggregationCaptor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(Session.class), eq(Document.class));
+
+        return aggregationCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    private static ArgumentMatcher<Update> setsField(String field) {
+        return update -> update.getUpdateObject().get("$set", Document.class).containsKey(field);
+    }
+
+    @Test
+    void givenReversedOrTooLongRange_thenRangeIsInvalid() {
+        LocalDate day = LocalDate.of(2026, 10, 1);
+
+        assertThat(DailyFocusService.isValidRange(day, day)).isTrue();
+        assertThat(DailyFocusService.isValidRange(day, day.plusDays(365))).isTrue();
+        assertThat(DailyFocusService.isValidRange(day, day.minusDays(1))).isFalse();
+        assertThat(DailyFocusService.isValidRange(day, day.plusDays(366))).isFalse();
+    }
+}
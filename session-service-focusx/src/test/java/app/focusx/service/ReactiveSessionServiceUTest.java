@@ -0,0 +1,210 @@
+package app.focusx.service;
+
+import app.focusx.messaging.producer.TodayDurationPublisher;
+import app.focusx.model.Session;
+import app.focusx.repository.ReactiveSessionRepository;
+import app.focusx.web.dto.SessionCreateRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSessionServiceUTest {
+
+    @InjectMocks
+    private ReactiveSessionService sessionService;
+
+    @Mock
+    private ReactiveSessionRepository sessionRepository;
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ReactiveHashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private TodayDurationPublisher todayDurationPublisher;
+
+    private final List<List<Object>> recordedDurations = new CopyOnWriteArrayList<>();
+
+    @Captor
+    ArgumentCaptor<Session> sessionCaptor;
+
+    @Test
+    void givenFirstSessionOfDay_whenAdd_thenStoresStreakUpdateAndRecordsDuration() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = createRequest(userId, 20);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + userId + "::"), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        when(sessionRepository.save(any(Session.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        stubRecordDuration(50L, null);
+
+        StepVerifier.create(sessionService.add(request)).verifyComplete();
+
+        verify(sessionRepository).save(sessionCaptor.capture());
+        assertThat(sessionCaptor.getValue().isUpdateStreak()).isTrue();
+        assertThat(sessionCaptor.getValue().isEventPending()).isTrue();
+        assertThat(recordedDurations).containsExactly(List.of("0", sessionCaptor.getValue().getId(), "20"));
+        verify(sessionRepository, never()).findByCompletedAtBetweenAndUserId(any(), any(), any());
+        verify(todayDurationPublisher).publish(userId, "Europe/Bucharest", 50L);
+    }
+
+    @Test
+    void givenNoDurationHash_whenAdd_thenSeedsHashWithTodaysSessions() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = createRequest(userId, 20);
+        Session earlier = Session.builder().id("earlier").minutes(10).completedAt(Instant.now()).userId(userId).build();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(false));
+        when(sessionRepository.save(sessionCaptor.capture())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        stubRecordDuration(null, 30L);
+        when(sessionRepository.findByCompletedAtBetweenAndUserId(any(Instant.class), any(Instant.class), eq(userId)))
+                .thenAnswer(invocation -> Flux.just(earlier, sessionCaptor.getValue()));
+
+        StepVerifier.create(sessionService.add(request)).verifyComplete();
+
+        String currentId = sessionCaptor.getValue().getId();
+        assertThat(recordedDurations).containsExactly(
+                List.of("0", currentId, "20"),
+                List.of("1", "earlier", "10", currentId, "20"));
+        verify(todayDurationPublisher).publish(userId, "Europe/Bucharest", 30L);
+    }
+
+    @Test
+    void givenSaveFails_whenAdd_thenReleasesFirstSessionMarker() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = createRequest(userId, 20);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + userId + "::"), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        when(sessionRepository.save(any(Session.class))).thenReturn(Mono.error(new IllegalStateException("Mongo unavailable")));
+        when(redisTemplate.delete(startsWith("first-session::" + userId + "::"))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(sessionService.add(request)).verifyError(IllegalStateException.class);
+
+        verify(redisTemplate).delete(startsWith("first-session::" + userId + "::"));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void givenMarkingLaterUserFails_whenAddAll_thenReleasesMarkersAlreadySet() {
+        String firstUser = UUID.randomUUID().toString();
+        String secondUser = UUID.randomUUID().toString();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + firstUser), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + secondUser), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+        when(redisTemplate.delete(startsWith("first-session::" + firstUser))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(sessionService.addAll(List.of(createRequest(firstUser, 20), createRequest(secondUser, 15))))
+                .verifyError(IllegalStateException.class);
+
+        verify(redisTemplate).delete(startsWith("first-session::" + firstUser));
+        verify(redisTemplate, never()).delete(startsWith("first-session::" + secondUser));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void givenInsertFails_whenAddAll_thenReleasesEveryMarkerSet() {
+        String firstUser = UUID.randomUUID().toString();
+        String secondUser = UUID.randomUUID().toString();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::"), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        when(sessionRepository.insert(anyList())).thenReturn(Flux.error(new IllegalStateException("Mongo unavailable")));
+        when(redisTemplate.delete(startsWith("first-session::"))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(sessionService.addAll(List.of(createRequest(firstUser, 20), createRequest(secondUser, 15))))
+                .verifyError(IllegalStateException.class);
+
+        verify(redisTemplate).delete(startsWith("first-session::" + firstUser));
+        verify(redisTemplate).delete(startsWith("first-session::" + secondUser));
+    }
+
+    @Test
+    void givenDurationHash_whenGetTodaysDuration_thenSumsItAndSkipsMongo() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.values(startsWith("duration-sessions::" + userId + "::"))).thenReturn(Flux.just("20", "25"));
+
+        StepVerifier.create(sessionService.getTodaysDuration(userId, "Europe/Bucharest"))
+                .expectNext(45L)
+                .verifyComplete();
+
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void givenNoDurationHash_whenGetTodaysDuration_thenSumsTodaysSessionsWithoutSeeding() {
+        String userId = UUID.randomUUID().toString();
+
+        Session first = Session.builder().minutes(10).completedAt(Instant.now()).userId(userId).build();
+        Session second = Session.builder().minutes(20).completedAt(Instant.now()).userId(userId).build();
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.values(anyString())).thenReturn(Flux.empty());
+        when(sessionRepository.findByCompletedAtBetweenAndUserId(any(Instant.class), any(Instant.class), eq(userId)))
+                .thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(sessionService.getTodaysDuration(userId, "Europe/Bucharest"))
+                .expectNext(30L)
+                .verifyComplete();
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    // Answers the duration script with the given totals for recording new sessions and for seeding, and keeps
+    // each call's arguments without the ttl.
+    private void stubRecordDuration(Long whenRecorded, Long whenSeeded) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenAnswer(invocation -> {
+            List<Object> args = new ArrayList<>(invocation.<List<?>>getArgument(2));
+            args.remove(1);
+            recordedDurations.add(args);
+
+            Long total = "0".equals(args.get(0)) ? whenRecorded : whenSeeded;
+            return total == null ? Flux.empty() : Flux.just(total);
+        });
+    }
+
+    private SessionCreateRequest createRequest(String userId, long minutes) {
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(minutes);
+        request.setUserTimezone("Europe/Bucharest");
+        return request;
+    }
+}
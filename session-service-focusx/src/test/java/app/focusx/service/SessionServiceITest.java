@@ -0,0 +1,137 @@
+package app.focusx.service;
+
+import app.focusx.messaging.producer.TodayDurationPublisher;
+import app.focusx.model.Session;
+import app.focusx.repository.SessionRepository;
+import app.focusx.web.dto.SessionCreateRequest;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Runs the duration script against a real Redis; the repository is an in-memory stand-in for Mongo.
+public class SessionServiceITest {
+
+    private static final String TIMEZONE = "Europe/Bucharest";
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final List<Session> storedSessions = new CopyOnWriteArrayList<>();
+
+    private SessionRepository sessionRepository;
+    private TodayDurationPublisher todayDurationPublisher;
+    private SessionService sessionService;
+    private String userId;
+
+    @BeforeAll
+    static void connect() {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(Duration.ofSeconds(1)).build())
+                        .build())
+                .build();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+
+        try (var connection = connectionFactory.getConnection()) {
+            connection.ping();
+        } catch (Exception e) {
+            connectionFactory.destroy();
+            assumeTrue(false, "Redis is not reachable on localhost:6379");
+        }
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (redisTemplate != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        userId = UUID.randomUUID().toString();
+
+        sessionRepository = mock(SessionRepository.class);
+        todayDurationPublisher = mock(TodayDurationPublisher.class);
+        sessionService = new SessionService(sessionRepository, redisTemplate, todayDurationPublisher);
+
+        when(sessionRepository.save(any(Session.class))).thenAnswer(invocation -> {
+            storedSessions.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        redisTemplate.delete(SessionDays.dailyKey(SessionDays.DURATION_PREFIX, userId, TIMEZONE));
+        redisTemplate.delete(SessionDays.dailyKey(SessionDays.FIRST_SESSION_PREFIX, userId, TIMEZONE));
+    }
+
+    @Test
+    void givenTwoConcurrentFirstWrites_whenBothSeed_thenEachSessionCountsOnce() throws Exception {
+        // Both callers miss the hash and read Mongo only after both sessions are stored, so each seed holds both.
+        CountDownLatch bothMissed = new CountDownLatch(2);
+        when(sessionRepository.findByCompletedAtBetweenAndUserId(any(Instant.class), any(Instant.class), eq(userId)))
+                .thenAnswer(invocation -> {
+                    bothMissed.countDown();
+                    assertThat(bothMissed.await(5, TimeUnit.SECONDS)).isTrue();
+                    return List.copyOf(storedSessions);
+                });
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> sessionService.add(createRequest(10)));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> sessionService.add(createRequest(20)));
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+
+        verify(todayDurationPublisher, times(2)).publish(userId, TIMEZONE, 30L);
+        assertThat(sessionService.getTodaysDuration(userId, TIMEZONE)).isEqualTo(30);
+        assertThat(redisTemplate.getExpire(SessionDays.dailyKey(SessionDays.DURATION_PREFIX, userId, TIMEZONE))).isPositive();
+    }
+
+    @Test
+    void givenSeededHash_whenAdd_thenRecordsOnlyTheNewSession() {
+        when(sessionRepository.findByCompletedAtBetweenAndUserId(any(Instant.class), any(Instant.class), eq(userId)))
+                .thenAnswer(invocation -> List.copyOf(storedSessions));
+
+        sessionService.add(createRequest(10));
+        sessionService.add(createRequest(20));
+
+        verify(sessionRepository, times(1)).findByCompletedAtBetweenAndUserId(any(), any(), eq(userId));
+        verify(todayDurationPublisher).publish(userId, TIMEZONE, 10L);
+        verify(todayDurationPublisher).publish(userId, TIMEZONE, 30L);
+    }
+
+    private SessionCreateRequest createRequest(long minutes) {
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(minutes);
+        request.setUserTimezone(TIMEZONE);
+        return request;
+    }
+}
@@ -1,6 +1,6 @@
 package app.focusx.service;
 
-import app.focusx.messaging.producer.NewSessionEventProducer;
+import app.focusx.messaging.producer.TodayDurationPublisher;
 import app.focusx.model.Session;
 import app.focusx.repository.SessionRepository;
 import app.focusx.web.dto.SessionCreateRequest;
@@ -11,14 +11,24 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -32,13 +42,18 @@ public class SessionServiceUTest {
     private SessionRepository sessionRepository;
 
     @Mock
-    private NewSessionEventProducer producer;
+    private StringRedisTemplate redisTemplate;
 
     @Mock
-    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOperations;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private TodayDurationPublisher todayDurationPublisher;
+
+    private final List<List<Object>> recordedDurations = new CopyOnWriteArrayList<>();
 
     @Captor
     ArgumentCaptor<Session> sessionCaptor;
@@ -52,17 +67,189 @@ public class SessionServiceUTest {
         request.setMinutes(20);
         request.setUserTimezone("Europe/Bucharest");
 
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubRecordDuration(50L, null);
+
         sessionService.add(request);
 
         verify(sessionRepository).save(sessionCaptor.capture());
         Session session = sessionCaptor.getValue();
 
-        verify(producer).sendNewSessionAddedEvent(any(), any(Long.class), any(boolean.class));
         assertThat(session.getMinutes()).isEqualTo(request.getMinutes());
+        assertThat(session.isEventPending()).isTrue();
+    }
+
+    @Test
+    void givenSaveFails_whenAdd_thenReleasesFirstSessionMarker() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = createRequest(userId, 20);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + userId + "::"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(sessionRepository.save(any(Session.class))).thenThrow(new IllegalStateException("Mongo unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> sessionService.add(request));
+
+        verify(redisTemplate).delete(startsWith("first-session::" + userId + "::"));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verifyNoInteractions(todayDurationPublisher);
     }
 
     @Test
-    void givenExistingSessionsOfToday_WhenGetTodaysDuration_thenReturnTotalDuration() {
+    void givenExistingDurationHash_whenAdd_thenRecordsSessionWithoutRecomputing() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(20);
+        request.setUserTimezone("Europe/Bucharest");
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubRecordDuration(50L, null);
+
+        sessionService.add(request);
+
+        verify(sessionRepository).save(sessionCaptor.capture());
+        assertThat(recordedDurations).containsExactly(
+                List.of(durationKey(userId), "0", sessionCaptor.getValue().getId(), "20"));
+        verify(sessionRepository, never()).findByCompletedAtBetweenAndUserId(any(), any(), any());
+        verify(todayDurationPublisher).publish(userId, "Europe/Bucharest", 50L);
+    }
+
+    @Test
+    void givenNoDurationHash_whenAdd_thenSeedsHashWithTodaysSessionsReadAfterTheWrite() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(20);
+        request.setUserTimezone("Europe/Bucharest");
+
+        Session earlier = Session.builder().id("earlier").minutes(10).completedAt(Instant.now()).userId(userId).build();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubRecordDuration(null, 30L);
+        when(sessionRepository.findByCompletedAtBetweenAndUserId(any(Instant.class), any(Instant.class), eq(userId)))
+                .thenAnswer(invocation -> {
+                    verify(sessionRepository).save(sessionCaptor.capture());
+                    return List.of(earlier, sessionCaptor.getValue());
+                });
+
+        sessionService.add(request);
+
+        String currentId = sessionCaptor.getValue().getId();
+        assertThat(recordedDurations).containsExactly(
+                List.of(durationKey(userId), "0", currentId, "20"),
+                List.of(durationKey(userId), "1", "earlier", "10", currentId, "20"));
+        verify(todayDurationPublisher).publish(userId, "Europe/Bucharest", 30L);
+    }
+
+    @Test
+    void givenFirstSessionOfDay_whenAdd_thenStoredEventUpdatesStreak() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(20);
+        request.setUserTimezone("Europe/Bucharest");
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + userId + "::"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        stubRecordDuration(50L, null);
+
+        sessionService.add(request);
+
+        verify(sessionRepository).save(sessionCaptor.capture());
+        assertThat(sessionCaptor.getValue().isUpdateStreak()).isTrue();
+    }
+
+    @Test
+    void givenFirstSessionMarkerAlreadySet_whenAdd_thenStoredEventDoesNotUpdateStreak() {
+        String userId = UUID.randomUUID().toString();
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(20);
+        request.setUserTimezone("Europe/Bucharest");
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + userId + "::"), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        stubRecordDuration(50L, null);
+
+        sessionService.add(request);
+
+        verify(sessionRepository).save(sessionCaptor.capture());
+        assertThat(sessionCaptor.getValue().isUpdateStreak()).isFalse();
+        verify(sessionRepository, never()).findByCompletedAtBetweenAndUserId(any(), any(), any());
+    }
+
+    @Test
+    void givenSessionsOfSeveralUsers_whenAddAll_thenInsertsOnceWithOneStreakUpdatePerUser() {
+        String firstUser = UUID.randomUUID().toString();
+        String secondUser = UUID.randomUUID().toString();
+
+        List<SessionCreateRequest> requests = List.of(
+                createRequest(firstUser, 20),
+                createRequest(secondUser, 15),
+                createRequest(firstUser, 25));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + firstUser), anyString(), any(Duration.class))).thenReturn(true);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + secondUser), anyString(), any(Duration.class))).thenReturn(false);
+        stubRecordDuration(100L, null);
+
+        sessionService.addAll(requests);
+
+        ArgumentCaptor<List<Session>> insertCaptor = ArgumentCaptor.forClass(List.class);
+        verify(sessionRepository).insert(insertCaptor.capture());
+
+        List<Session> inserted = insertCaptor.getValue();
+        assertThat(inserted).hasSize(3).allMatch(Session::isEventPending);
+        assertThat(inserted).extracting(Session::isUpdateStreak).containsExactly(true, false, false);
+
+        assertThat(recordedDurations).containsExactly(
+                List.of(durationKey(firstUser), "0", inserted.get(0).getId(), "20", inserted.get(2).getId(), "25"),
+                List.of(durationKey(secondUser), "0", inserted.get(1).getId(), "15"));
+    }
+
+    @Test
+    void givenMarkingLaterUserFails_whenAddAll_thenReleasesMarkersAlreadySet() {
+        String firstUser = UUID.randomUUID().toString();
+        String secondUser = UUID.randomUUID().toString();
+
+        List<SessionCreateRequest> requests = List.of(createRequest(firstUser, 20), createRequest(secondUser, 15));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + firstUser), anyString(), any(Duration.class))).thenReturn(true);
+        when(valueOperations.setIfAbsent(startsWith("first-session::" + secondUser), anyString(), any(Duration.class)))
+                .thenThrow(new IllegalStateException("Redis unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> sessionService.addAll(requests));
+
+        verify(redisTemplate).delete(startsWith("first-session::" + firstUser));
+        verify(redisTemplate, never()).delete(startsWith("first-session::" + secondUser));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void givenInsertFails_whenAddAll_thenReleasesEveryMarkerSet() {
+        String firstUser = UUID.randomUUID().toString();
+        String secondUser = UUID.randomUUID().toString();
+
+        List<SessionCreateRequest> requests = List.of(createRequest(firstUser, 20), createRequest(secondUser, 15));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(startsWith("first-session::"), anyString(), any(Duration.class))).thenReturn(true);
+        when(sessionRepository.insert(anyList())).thenThrow(new IllegalStateException("Mongo unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> sessionService.addAll(requests));
+
+        verify(redisTemplate).delete(startsWith("first-session::" + firstUser));
+        verify(redisTemplate).delete(startsWith("first-session::" + secondUser));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void givenNoDurationHash_WhenGetTodaysDuration_thenReturnTotalDurationWithoutSeeding() {
         UUID userId = UUID.randomUUID();
 
         Session session1 = Session.builder()
@@ -75,8 +262,8 @@ public class SessionServiceUTest {
                 .userId(userId.toString()).build();
         List<Session> sessions = List.of(session1, session2);
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(anyString())).thenReturn(null);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.values(anyString())).thenReturn(List.of());
 
         when(sessionRepository
                 .findByCompletedAtBetweenAndUserId(any(Instant.class), any(Instant.class), eq(userId.toString())))
@@ -85,5 +272,51 @@ public class SessionServiceUTest {
         long todaysDuration = sessionService.getTodaysDuration(userId.toString(), "Europe/Bucharest");
 
         assertThat(todaysDuration).isEqualTo(30);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verifyNoMoreInteractions(hashOperations);
+    }
+
+    @Test
+    void givenDurationHash_whenGetTodaysDuration_thenSumsItAndSkipsMongo() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.values(durationKey(userId))).thenReturn(List.of("20", "25"));
+
+        long todaysDuration = sessionService.getTodaysDuration(userId, "Europe/Bucharest");
+
+        assertThat(todaysDuration).isEqualTo(45);
+        verifyNoInteractions(sessionRepository);
+    }
+
+    // Answers the duration script with the given totals for recording new sessions and for seeding, and keeps
+    // each call's key and arguments without the ttl.
+    private void stubRecordDuration(Long whenRecorded, Long whenSeeded) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<Object> args = scriptArgs(invocation);
+            recordedDurations.add(args);
+            return "0".equals(args.get(1)) ? whenRecorded : whenSeeded;
+        });
+    }
+
+    private static List<Object> scriptArgs(InvocationOnMock invocation) {
+        Object[] arguments = invocation.getArguments();
+        List<Object> args = new ArrayList<>();
+        args.add(((List<?>) arguments[1]).get(0));
+        args.add(arguments[2]);
+        args.addAll(Arrays.asList(arguments).subList(4, arguments.length));
+        return args;
+    }
+
+    private static String durationKey(String userId) {
+        return "duration-sessions::" + userId + "::" + LocalDate.now(ZoneId.of("Europe/Bucharest"));
+    }
+
+    private SessionCreateRequest createRequest(String userId, long minutes) {
+        SessionCreateRequest request = new SessionCreateRequest();
+        request.setUserId(userId);
+        request.setMinutes(minutes);
+        request.setUserTimezone("Europe/Bucharest");
+        return request;
     }
 }
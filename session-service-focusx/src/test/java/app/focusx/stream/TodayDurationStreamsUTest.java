@@ -0,0 +1,95 @@
+package app.focusx.stream;
+
+import app.focusx.messaging.event.TodayDurationEvent;
+import app.focusx.service.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodayDurationStreamsUTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private SessionService sessionService;
+
+    private TodayDurationStreams todayDurationStreams;
+
+    @BeforeEach
+    void setup() {
+        todayDurationStreams = new TodayDurationStreams(sessionService, objectMapper, 3, 2, 60_000, 15_000, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        todayDurationStreams.stop();
+    }
+
+    @Test
+    void givenPerUserLimitReached_whenSubscribe_thenRejectsFurtherStreamsOfThatUser() {
+        String userId = UUID.randomUUID().toString();
+
+        assertThat(todayDurationStreams.subscribe(userId, "Europe/Berlin")).isPresent();
+        assertThat(todayDurationStreams.subscribe(userId, "Europe/Berlin")).isPresent();
+        assertThat(todayDurationStreams.subscribe(userId, "Europe/Berlin")).isEmpty();
+        assertThat(todayDurationStreams.subscribe(UUID.randomUUID().toString(), "Europe/Berlin")).isPresent();
+
+        assertThat(todayDurationStreams.connectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givenNodeLimitReached_whenSubscribe_thenRejectsNewStreams() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(todayDurationStreams.subscribe(UUID.randomUUID().toString(), "Europe/Berlin")).isPresent();
+        }
+
+        assertThat(todayDurationStreams.subscribe(UUID.randomUUID().toString(), "Europe/Berlin")).isEmpty();
+        assertThat(todayDurationStreams.connectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givenSubscribersInSeveralTimezones_whenUpdatePublished_thenOnlyOtherTimezonesReadTheirTotal() throws Exception {
+        String userId = UUID.randomUUID().toString();
+
+        todayDurationStreams.subscribe(userId, "Europe/Berlin");
+        todayDurationStreams.subscribe(userId, "America/New_York");
+
+        TodayDurationEvent event = new TodayDurationEvent(userId, "Europe/Berlin", 45);
+        todayDurationStreams.onMessage(new DefaultMessage("today-duration".getBytes(), objectMapper.writeValueAsBytes(event)), null);
+
+        verify(sessionService, timeout(1000).times(2)).getTodaysDuration(userId, "America/New_York");
+        verify(sessionService, times(1)).getTodaysDuration(userId, "Europe/Berlin");
+    }
+
+    @Test
+    void givenSlowLookup_whenUpdatePublished_thenListenerThreadDoesNotWaitForIt() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        todayDurationStreams.subscribe(userId, "America/New_York");
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(sessionService.getTodaysDuration(userId, "America/New_York")).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread().getName()).startsWith("sse-push-");
+            release.await(5, TimeUnit.SECONDS);
+            return 30L;
+        });
+
+        TodayDurationEvent event = new TodayDurationEvent(userId, "Europe/Berlin", 45);
+        todayDurationStreams.onMessage(new DefaultMessage("today-duration".getBytes(), objectMapper.writeValueAsBytes(event)), null);
+
+        verify(sessionService, timeout(1000).times(2)).getTodaysDuration(userId, "America/New_York");
+        release.countDown();
+    }
+}
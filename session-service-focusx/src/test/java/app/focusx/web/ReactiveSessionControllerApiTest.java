@@ -0,0 +1,117 @@
+package app.focusx.web;
+
+import app.focusx.config.CorsConfig;
+import app.focusx.config.ReactiveSecurityConfig;
+import app.focusx.security.JwtValidator;
+import app.focusx.service.DailyFocusService;
+import app.focusx.service.ReactiveSessionService;
+import app.focusx.stream.ReactiveTodayDurationStreams;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(ReactiveSessionController.class)
+@Import({ReactiveSecurityConfig.class, CorsConfig.class})
+public class ReactiveSessionControllerApiTest {
+
+    private final static String BASE_URL = "/api/sessions";
+
+    @MockitoBean
+    private ReactiveSessionService sessionService;
+
+    @MockitoBean
+    private DailyFocusService dailyFocusService;
+
+    @MockitoBean
+    private ReactiveTodayDurationStreams todayDurationStreams;
+
+    @MockitoBean
+    private JwtValidator jwtValidator;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void givenValidToken_whenGettingTodaySessionDuration_thenReturnsCorrectValue() {
+        String userId = UUID.randomUUID().toString();
+        String timezone = "Europe/Berlin";
+
+        mockJwtFilterAuthentication();
+        when(sessionService.getTodaysDuration(userId, timezone)).thenReturn(Mono.just(120L));
+
+        webTestClient.get().uri(BASE_URL + "/" + userId + "/today")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                .header("User-Timezone", timezone)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).isEqualTo(120L);
+    }
+
+    @Test
+    void givenMissingToken_whenGettingTodaySessionDuration_thenReturnsUnauthorized() {
+        webTestClient.get().uri(BASE_URL + "/" + UUID.randomUUID() + "/today")
+                .header("User-Timezone", "Europe/Berlin")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(sessionService);
+    }
+
+    @Test
+    void givenInvalidToken_whenGettingTodaySessionDuration_thenReturnsUnauthorized() {
+        when(jwtValidator.validateToken(any(String.class))).thenThrow(new JwtException("Invalid JWT"));
+
+        webTestClient.get().uri(BASE_URL + "/" + UUID.randomUUID() + "/today")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer expired_token")
+                .header("User-Timezone", "Europe/Berlin")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(sessionService);
+    }
+
+    @Test
+    void givenValidToken_whenStreamingTodaySessionDuration_thenSendsDurationEvents() {
+        String userId = UUID.randomUUID().toString();
+
+        mockJwtFilterAuthentication();
+        when(todayDurationStreams.subscribe(userId, "Europe/Berlin"))
+                .thenReturn(Optional.of(Flux.just(ServerSentEvent.builder(120L).event("duration").build())));
+
+        webTestClient.get().uri(BASE_URL + "/" + userId + "/today/stream")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                .header("User-Timezone", "Europe/Berlin")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body)
+                        .contains("event:duration").contains("data:120"));
+    }
+
+    private void mockJwtFilterAuthentication() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn(UUID.randomUUID().toString());
+        when(claims.get("role")).thenReturn("ROLE_USER");
+
+        when(jwtValidator.validateToken(any(String.class))).thenReturn(claims);
+    }
+}
@@ -1,7 +1,11 @@
 package app.focusx.web;
 
+import app.focusx.model.Session;
 import app.focusx.security.JwtValidator;
+import app.focusx.service.DailyFocusService;
 import app.focusx.service.SessionService;
+import app.focusx.stream.TodayDurationStreams;
+import app.focusx.web.dto.DailyFocusRangeResponse;
 import app.focusx.web.dto.SessionCreateRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
@@ -14,15 +18,24 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SessionController.class)
@@ -33,6 +46,12 @@ public class SessionControllerApiTest {
     @MockitoBean
     private SessionService sessionService;
 
+    @MockitoBean
+    private DailyFocusService dailyFocusService;
+
+    @MockitoBean
+    private TodayDurationStreams todayDurationStreams;
+
     @MockitoBean
     private JwtValidator jwtValidator;
 
@@ -76,6 +95,103 @@ public class SessionControllerApiTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void postBatchWithValidAndInvalidItems_thenReturnsMultiStatusWithPerItemResults() throws Exception {
+        SessionCreateRequest valid = new SessionCreateRequest();
+        valid.setUserId(UUID.randomUUID().toString());
+        valid.setMinutes(25);
+        valid.setUserTimezone("Europe/Berlin");
+
+        SessionCreateRequest invalid = new SessionCreateRequest();
+        invalid.setUserId(valid.getUserId());
+        invalid.setMinutes(0);
+        invalid.setUserTimezone("Europe/Berlin");
+
+        Session session = Session.builder().id(UUID.randomUUID().toString()).build();
+        when(sessionService.addAll(anyList())).thenReturn(List.of(session));
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(List.of(invalid, valid))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].created").value(false))
+                .andExpect(jsonPath("$.results[0].fieldErrors[0].field").value("minutes"))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].sessionId").value(session.getId()));
+
+        verify(sessionService).addAll(List.of(valid));
+    }
+
+    @Test
+    void postBatchWithUnknownTimezoneAndNullItem_thenRejectsThemAndStoresTheRest() throws Exception {
+        SessionCreateRequest valid = new SessionCreateRequest();
+        valid.setUserId(UUID.randomUUID().toString());
+        valid.setMinutes(25);
+        valid.setUserTimezone("Europe/Berlin");
+
+        SessionCreateRequest unknownZone = new SessionCreateRequest();
+        unknownZone.setUserId(UUID.randomUUID().toString());
+        unknownZone.setMinutes(25);
+        unknownZone.setUserTimezone("Mars/Olympus");
+
+        Session session = Session.builder().id(UUID.randomUUID().toString()).build();
+        when(sessionService.addAll(anyList())).thenReturn(List.of(session));
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(Arrays.asList(unknownZone, null, valid))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].fieldErrors[0].field").value("userTimezone"))
+                .andExpect(jsonPath("$.results[0].fieldErrors[0].code").value("ValidTimezone"))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].fieldErrors[0].code").value("NotNull"))
+                .andExpect(jsonPath("$.results[2].sessionId").value(session.getId()));
+
+        verify(sessionService).addAll(List.of(valid));
+    }
+
+    @Test
+    void postBatchWithOnlyInvalidItems_thenReturnsBadRequestWithFailingIndexes() throws Exception {
+        SessionCreateRequest unknownZone = new SessionCreateRequest();
+        unknownZone.setUserId(UUID.randomUUID().toString());
+        unknownZone.setMinutes(25);
+        unknownZone.setUserTimezone("Mars/Olympus");
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(Arrays.asList(null, unknownZone))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[1].index").value(1));
+
+        verifyNoInteractions(sessionService);
+    }
+
+    @Test
+    void postEmptyBatch_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(sessionService);
+    }
+
     @Test
     void givenUserIdAndTimezone_whenGettingTodaySessionDuration_thenReturnsCorrectValue() throws Exception {
         String userId = UUID.randomUUID().toString();
@@ -94,8 +210,66 @@ public class SessionControllerApiTest {
         verify(sessionService).getTodaysDuration(userId, timezone);
     }
 
+    @Test
+    void givenDateRange_whenGettingDailyFocus_thenReturnsTotals() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        LocalDate from = LocalDate.of(2026, 10, 1);
+        LocalDate to = LocalDate.of(2026, 10, 31);
 
+        when(dailyFocusService.getRange(userId, from, to)).thenReturn(DailyFocusRangeResponse.builder()
+                .from(from.toString())
+                .to(to.toString())
+                .totalMinutes(300)
+                .totalSessions(12)
+                .days(List.of())
+                .build());
 
+        mockMvc.perform(get(BASE_URL + "/" + userId + "/daily")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .param("from", "2026-10-01")
+                        .param("to", "2026-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMinutes").value(300))
+                .andExpect(jsonPath("$.totalSessions").value(12));
+    }
+
+    @Test
+    void givenReversedDateRange_whenGettingDailyFocus_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + UUID.randomUUID() + "/daily")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .param("from", "2026-10-31")
+                        .param("to", "2026-10-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(dailyFocusService);
+    }
+
+    @Test
+    void givenFreeConnectionSlot_whenStreamingTodaySessionDuration_thenStartsAsyncStream() throws Exception {
+        String userId = UUID.randomUUID().toString();
+
+        when(todayDurationStreams.subscribe(userId, "Europe/Berlin")).thenReturn(Optional.of(new SseEmitter()));
+
+        mockMvc.perform(get(BASE_URL + "/" + userId + "/today/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .header("User-Timezone", "Europe/Berlin"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void givenConnectionLimitReached_whenStreamingTodaySessionDuration_thenReturnsServiceUnavailable() throws Exception {
+        when(todayDurationStreams.subscribe(anyString(), anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get(BASE_URL + "/" + UUID.randomUUID() + "/today/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access_token")
+                        .with(jwt())
+                        .header("User-Timezone", "Europe/Berlin"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+    }
 
     private void mockJwtFilterAuthentication() {
         Claims claims = mock(Claims.class);
@@ -0,0 +1,33 @@
+package app.focusx.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${kafka.topics.partitions}")
+    private int partitions;
+
+    @Value("${kafka.topics.replicas}")
+    private int replicas;
+
+    @Bean
+    public NewTopic registerEventTopic() {
+        return TopicBuilder.name("register-event")
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public NewTopic verifiedUserEventTopic() {
+        return TopicBuilder.name("verified-user-event")
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+}
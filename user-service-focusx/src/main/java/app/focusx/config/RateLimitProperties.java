@@ -0,0 +1,47 @@
+package app.focusx.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Enforce limits across all replicas through Redis instead of per JVM.
+     */
+    private boolean distributed = false;
+
+    /**
+     * Longest a request waits on Redis before falling back to the local limiter.
+     */
+    private Duration redisTimeout = Duration.ofMillis(50);
+
+    /**
+     * How long Redis is skipped after a timeout or error.
+     */
+    private Duration redisBackoff = Duration.ofSeconds(5);
+
+    private int maxTrackedKeys = 100_000;
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * Disabled policies are not enforced, so a path can be configured before its limit is switched on.
+         */
+        private boolean enabled = true;
+        private String path;
+        private int limit;
+        private Duration window;
+    }
+}
@@ -0,0 +1,8 @@
+package app.focusx.exception;
+
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
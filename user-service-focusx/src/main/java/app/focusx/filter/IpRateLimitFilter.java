@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class IpRateLimitFilter extends OncePerRequestFilter {
@@ -22,14 +23,14 @@ public class IpRateLimitFilter extends OncePerRequestFilter {
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        String path = request.getRequestURI();
+        Optional<String> policy = service.policyFor(request.getRequestURI());
 
-        if ("/api/auth/register".equals(path)) {
+        if (policy.isPresent()) {
             String ip = request.getRemoteAddr();
 
-            if (!service.isAllowed(ip)) {
+            if (!service.isAllowed(policy.get(), ip)) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.getWriter().write("Too many registration attempts. Please try again later.");
+                response.getWriter().write("Too many attempts. Please try again later.");
                 return;
             }
         }
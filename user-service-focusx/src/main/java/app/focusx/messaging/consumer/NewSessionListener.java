@@ -20,11 +20,11 @@ public class NewSessionListener {
         this.objectMapper = objectMapper;
     }
 
-    @KafkaListener(topics = "new-session-event", groupId = "user-service")
+    @KafkaListener(topics = "new-session-event", groupId = "user-service", concurrency = "${kafka.listener.concurrency:3}")
     public void listen(ConsumerRecord<String, String> record) {
         try {
             NewSessionEvent event = objectMapper.readValue(record.value(), NewSessionEvent.class);
-            if (event.isUpdateStreak()) userService.incrementStreak(event.getUserId());
+            if (event.isUpdateStreak()) userService.incrementStreak(event.getUserId(), event.getTimezone());
 
         } catch (Exception e) {
             log.error("Error handling new session event", e);
@@ -8,5 +8,6 @@ public class NewSessionEvent {
     private String userId;
     private Long minutes;
     private boolean updateStreak;
+    private String timezone;
 
 }
@@ -27,7 +27,7 @@ public class RegisterEventProducer {
     private void sendEvent(RegisterEvent event) {
         try {
             String data = mapper.writeValueAsString(event);
-            template.send("register-event", data);
+            template.send("register-event", event.getUserId(), data);
         } catch (Exception e) {
             log.error("Failed to send register event", e);
         }
@@ -27,7 +27,7 @@ public class VerifiedUserEventProducer {
     private void sendEvent(VerifiedUserEvent event) {
         try {
             String data = mapper.writeValueAsString(event);
-            template.send("verified-user-event", data);
+            template.send("verified-user-event", event.getUserId(), data);
         } catch (Exception e) {
             log.error("Failed to send verified user event", e);
         }
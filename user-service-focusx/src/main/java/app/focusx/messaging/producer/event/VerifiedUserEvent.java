@@ -8,6 +8,7 @@ import lombok.Data;
 @AllArgsConstructor
 public class VerifiedUserEvent {
 
+    private String userId;
     private String username;
     private String contact;
 }
@@ -0,0 +1,65 @@
+package app.focusx.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+final class BCryptCost {
+
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 16;
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCost() {
+    }
+
+    /**
+     * Picks the highest cost whose hash time stays within the target on this host and logs it
+     * next to the configured cost. Each extra cost round doubles the work, so a single timed
+     * cost is enough to extrapolate from. The result is advice for the shared configuration,
+     * never applied directly, since replicas on different hardware would disagree.
+     */
+    static int recommend(Duration target, int configuredCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_COST);
+        probe.encode("calibration");
+
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        int cost = forTarget(target, Duration.ofNanos(fastestNanos));
+        if (cost != configuredCost) {
+            log.warn("BCrypt cost {} hashed in {} ms; cost {} would fit the {} ms target better than the configured cost {}",
+                    MIN_COST, Duration.ofNanos(fastestNanos).toMillis(), cost, target.toMillis(), configuredCost);
+        } else {
+            log.info("BCrypt cost {} hashed in {} ms; configured cost {} fits the {} ms target",
+                    MIN_COST, Duration.ofNanos(fastestNanos).toMillis(), configuredCost, target.toMillis());
+        }
+        return cost;
+    }
+
+    static int forTarget(Duration target, Duration minCostTime) {
+        double headroom = (double) target.toNanos() / Math.max(1, minCostTime.toNanos());
+        int extraRounds = headroom < 1 ? 0 : (int) Math.floor(Math.log(headroom) / Math.log(2));
+        return Math.min(MAX_COST, MIN_COST + extraRounds);
+    }
+
+    // BCrypt hashes look like $2a$12$<salt+hash>; anything else is not ours to re-cost.
+    static int of(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
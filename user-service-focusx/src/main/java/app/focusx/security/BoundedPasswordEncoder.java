@@ -0,0 +1,157 @@
+package app.focusx.security;
+
+import app.focusx.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small CPU-bound pool instead of the request threads, so a login burst
+ * queues behind the pool rather than starving every other endpoint. Once the queue is full
+ * callers are rejected immediately with {@link PasswordHashingBusyException}.
+ * <p>
+ * The cost comes from configuration so every replica writes the same one; startup calibration
+ * against a latency target only logs a recommended cost. Adapting the cost therefore means changing
+ * the configured value: raising it re-encodes weaker hashes on their next successful login, while
+ * lowering it only applies to hashes written from then on (see {@link #upgradeEncoding(String)}).
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeQueueWait;
+    private final Timer matchesQueueWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejected;
+
+    @Autowired
+    public BoundedPasswordEncoder(MeterRegistry meterRegistry,
+                                  @Value("${password-hashing.threads:0}") int threads,
+                                  @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password-hashing.cost:12}") int cost,
+                                  @Value("${password-hashing.target-ms:250}") long targetMs) {
+        this(new BCryptPasswordEncoder(cost), cost, meterRegistry, threads, queueCapacity);
+        BCryptCost.recommend(Duration.ofMillis(targetMs), cost);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, int cost, MeterRegistry meterRegistry, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.cost = cost;
+
+        // One core is left to the request threads by default.
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+        this.encodeQueueWait = queueWaitTimer(meterRegistry, "encode");
+        this.matchesQueueWait = queueWaitTimer(meterRegistry, "matches");
+        this.encodeTime = hashTimer(meterRegistry, "encode");
+        this.matchesTime = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.cost", () -> this.cost)
+                .description("BCrypt cost new password hashes are written with")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeQueueWait, encodeTime);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesQueueWait, matchesTime);
+    }
+
+    /**
+     * Rehashing only goes upwards. Re-encoding a stronger hash at a lower cost would weaken a stored
+     * password to save login time, and a replica that calibrated on slower hardware would otherwise
+     * undo the cost another replica just raised. Lowering the configured cost is still the way to
+     * make logins cheaper; stronger hashes keep verifying at their own cost until the password changes.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedCost = BCryptCost.of(encodedPassword);
+        return storedCost > 0 && storedCost < cost;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Supplier<T> work, Timer queueWait, Timer hashTime) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> result;
+
+        try {
+            result = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests right now. Please try again shortly.");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer queueWaitTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing.queue.wait")
+                .description("Time a password hashing request waited for a free hashing thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing.duration")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package app.focusx.security;
 
-import app.focusx.model.User;
-import app.focusx.service.UserService;
+import app.focusx.model.UserRole;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,27 +13,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.UUID;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserService userService;
+    private final UserRevocations userRevocations;
 
 
-    public JwtFilter(JwtService jwtService, @Lazy UserService userService) {
+    public JwtFilter(JwtService jwtService, UserRevocations userRevocations) {
         this.jwtService = jwtService;
-        this.userService = userService;
+        this.userRevocations = userRevocations;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String jwt = null;
-        String userId;
-
 
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -42,37 +38,43 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
 
-        if (jwt != null) {
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            try {
-                userId = jwtService.extractUserId(jwt);
+            AuthenticationMetadata authenticationMetadata;
 
+            try {
+                authenticationMetadata = toPrincipal(jwtService.parseClaims(jwt));
             } catch (Exception e) {
 
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 return;
             }
 
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-                User user = userService.getById(UUID.fromString(userId));
-                AuthenticationMetadata authenticationMetadata = (AuthenticationMetadata) userService.loadUserByUsername(user.getUsername());
+            if (userRevocations.isRevoked(authenticationMetadata.getUserId().toString())) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
 
-                if (jwtService.validateToken(jwt, authenticationMetadata)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(authenticationMetadata, null, authenticationMetadata.getAuthorities());
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(authenticationMetadata, null, authenticationMetadata.getAuthorities());
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    return;
-                }
-            }
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
 
 
     }
+
+    // The principal is rebuilt from the signed claims without loading the user. Tokens are only issued to active users
+    // and deactivation revokes them, so a token that passed the revocation check belongs to an active user. Tokens
+    // issued before the username claim existed fall back to the user id until they are refreshed.
+    static AuthenticationMetadata toPrincipal(Claims claims) {
+        UUID userId = UUID.fromString(claims.getSubject());
+        String username = claims.get(JwtService.USERNAME_CLAIM, String.class);
+        UserRole role = UserRole.valueOf(claims.get(JwtService.ROLE_CLAIM, String.class));
+
+        return new AuthenticationMetadata(userId, username != null ? username : userId.toString(), null, role, true);
+    }
 }
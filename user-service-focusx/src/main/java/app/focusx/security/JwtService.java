@@ -1,35 +1,42 @@
 package app.focusx.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import org.springframework.context.annotation.Profile;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.UUID;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
+    public static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
     private final RSAPrivateKey privateKey;
-    private final RSAPublicKey publicKey;
+    private final JwtParser parser;
 
     public JwtService(RSAPrivateKey privateKey, RSAPublicKey publicKey) {
         this.privateKey = privateKey;
-        this.publicKey = publicKey;
+        this.parser = Jwts.parser()
+                .verifyWith(publicKey)
+                .build();
     }
 
-    public String generateAccessToken(UUID userId, String role) {
+    public static final String USERNAME_CLAIM = "username";
+    public static final String ROLE_CLAIM = "role";
+
+    public String generateAccessToken(UUID userId, String username, String role) {
         return Jwts.builder()
                 .subject(userId.toString())
-                .claim("role", role)
+                .claim(USERNAME_CLAIM, username)
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(new Date())
-                .expiration(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+                .expiration(Date.from(Instant.now().plus(ACCESS_TOKEN_TTL)))
                 .signWith(privateKey)
                 .compact();
     }
@@ -37,43 +44,20 @@ public class JwtService {
     public String generateRefreshToken(UUID userId, String role) {
         return Jwts.builder()
                 .subject(userId.toString())
-                .claim("role", role)
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(new Date())
-                .expiration(Date.from(Instant.now().plus(7, ChronoUnit.DAYS)))
+                .expiration(Date.from(Instant.now().plus(REFRESH_TOKEN_TTL)))
                 .signWith(privateKey)
                 .compact();
     }
 
     public String extractUserId(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public boolean validateToken(String token, AuthenticationMetadata authenticationMetadata) {
-        final String userId = extractUserId(token);
-        return (userId.equals(authenticationMetadata.getUserId().toString()) && !isTokenExpired(token));
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parseClaims(token).getSubject();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Verifies the signature and rejects expired tokens in a single parse.
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
 }
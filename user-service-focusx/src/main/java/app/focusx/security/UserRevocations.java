@@ -0,0 +1,50 @@
+package app.focusx.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+public class UserRevocations {
+
+    private static final String REVOKED_PREFIX = "revoked-user::";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, Boolean> revoked;
+
+    public UserRevocations(RedisTemplate<String, String> redisTemplate,
+                           @Value("${jwt.revocation.local-ttl-ms:5000}") long localTtlMs,
+                           @Value("${jwt.revocation.local-max-size:10000}") long localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .build();
+    }
+
+    // Tokens outlive the account by at most the refresh token lifetime, so the marker does too.
+    // The local mark comes first so this node enforces the revocation even if Redis rejects the write.
+    public void revoke(String userId) {
+        revoked.put(userId, true);
+        redisTemplate.opsForValue().set(REVOKED_PREFIX + userId, "1", JwtService.REFRESH_TOKEN_TTL);
+    }
+
+    // Fails open when Redis is unreachable. Failing closed would reject every request once the local entries expire,
+    // while failing open lets a revoked user keep an access token until it expires, at most ACCESS_TOKEN_TTL. Outage
+    // answers are not cached, so revocations apply again as soon as Redis is back.
+    public boolean isRevoked(String userId) {
+        try {
+            return revoked.get(userId, id -> Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_PREFIX + id)));
+        } catch (DataAccessException e) {
+            log.warn("Could not check revocation of user {}, allowing the request", userId, e);
+            return false;
+        }
+    }
+}
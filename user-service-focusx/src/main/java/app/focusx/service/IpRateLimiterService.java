@@ -1,35 +1,56 @@
 package app.focusx.service;
 
+import app.focusx.config.RateLimitProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
 @Service
 public class IpRateLimiterService {
 
-    private final Map<String, List<LocalDateTime>> ipRegistrationMap = new ConcurrentHashMap<>();
+    private final Map<String, String> policiesByPath = new HashMap<>();
+    private final Map<String, RateLimitProperties.Policy> policies;
+    private final Map<String, SlidingWindowRateLimiter> localLimiters = new HashMap<>();
+    private final RedisRateLimiter redisRateLimiter;
 
-    private static final int MAX_ATTEMPTS = 3;
-    private static final Duration TIME_WINDOW = Duration.ofHours(1);
+    public IpRateLimiterService(RateLimitProperties properties, ObjectProvider<RedisRateLimiter> redisRateLimiter) {
+        this.policies = new HashMap<>();
+        this.redisRateLimiter = redisRateLimiter.getIfAvailable();
 
-    public boolean isAllowed(String ip) {
-        LocalDateTime now = LocalDateTime.now();
+        properties.getPolicies().forEach((name, policy) -> {
+            if (!policy.isEnabled()) {
+                return;
+            }
 
-        ipRegistrationMap.putIfAbsent(ip, new ArrayList<>());
-        List<LocalDateTime> attempts = ipRegistrationMap.get(ip);
+            policies.put(name, policy);
+            policiesByPath.put(policy.getPath(), name);
+            localLimiters.put(name, new SlidingWindowRateLimiter(policy.getLimit(), policy.getWindow(), properties.getMaxTrackedKeys()));
+        });
+    }
+
+    public Optional<String> policyFor(String path) {
+        return Optional.ofNullable(policiesByPath.get(path));
+    }
 
-        attempts.removeIf(time -> time.isBefore(now.minus(TIME_WINDOW)));
+    public boolean isAllowed(String policyName, String ip) {
+        RateLimitProperties.Policy policy = policies.get(policyName);
 
-        if (attempts.size() >= MAX_ATTEMPTS) {
-            return false;
+        if (redisRateLimiter != null) {
+            Optional<Boolean> allowed = redisRateLimiter.tryAcquire(policyName, ip, policy.getLimit(), policy.getWindow());
+            if (allowed.isPresent()) {
+                return allowed.get();
+            }
         }
 
-        attempts.add(now);
-        return true;
+        return localLimiters.get(policyName).tryAcquire(ip);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        localLimiters.values().forEach(SlidingWindowRateLimiter::evictIdle);
     }
 }
@@ -0,0 +1,84 @@
+package app.focusx.service;
+
+import app.focusx.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Same sliding-window counter as {@link SlidingWindowRateLimiter}, evaluated atomically in
+ * Redis so the limit holds across replicas. Redis is only waited on for a short timeout;
+ * an empty result tells the caller to fall back to its local limiter, and Redis is then
+ * skipped for a back-off period so a slow instance does not tax every request.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rate-limit.distributed", havingValue = "true")
+public class RedisRateLimiter {
+
+    private static final String RATE_LIMIT_PREFIX = "rate-limit::";
+    private static final RedisScript<Long> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/sliding-window-rate-limit.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Duration timeout;
+    private final long backoffMillis;
+    private final LongSupplier clock;
+    private final Counter fallbacks;
+
+    private volatile long skipUntil;
+
+    public RedisRateLimiter(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(redisTemplate, properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    RedisRateLimiter(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.timeout = properties.getRedisTimeout();
+        this.backoffMillis = properties.getRedisBackoff().toMillis();
+        this.clock = clock;
+        this.fallbacks = Counter.builder("rate.limit.redis.fallback")
+                .description("Rate limit checks answered by the local limiter because Redis was slow or unavailable")
+                .register(meterRegistry);
+    }
+
+    public Optional<Boolean> tryAcquire(String policy, String key, int limit, Duration window) {
+        long now = clock.getAsLong();
+
+        if (now < skipUntil) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        long windowMillis = window.toMillis();
+        long windowIndex = now / windowMillis;
+        // The hash tag keeps both windows of a key on the same cluster slot.
+        String prefix = RATE_LIMIT_PREFIX + "{" + policy + "::" + key + "}::";
+        List<String> keys = List.of(prefix + windowIndex, prefix + (windowIndex - 1));
+
+        try {
+            Long allowed = redisTemplate.execute(SCRIPT, keys,
+                            List.of(String.valueOf(limit), String.valueOf(windowMillis), String.valueOf(windowMillis - now % windowMillis)))
+                    .next()
+                    .timeout(timeout)
+                    .block();
+
+            return Optional.of(Long.valueOf(1).equals(allowed));
+        } catch (RuntimeException e) {
+            log.warn("Redis rate limit check failed, using the local limiter for {} ms: {}", backoffMillis, e.getMessage());
+            skipUntil = now + backoffMillis;
+            fallbacks.increment();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package app.focusx.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window counter limiter. Each key holds one {@code long} packing the window index
+ * (high 32 bits) with the previous and current window counts (15 bits each), updated with
+ * CAS, so memory per key is constant and no lock is ever taken. The previous window is
+ * weighted by how much of it still overlaps the sliding window.
+ * <p>
+ * Keys idle for two full windows carry no state worth keeping and are dropped by
+ * {@link #evictIdle()}. Once {@code maxKeys} live keys are tracked, a new key triggers at most
+ * one idle scan per {@link #FULL_SCAN_INTERVAL_MILLIS}; if the map is still full, the key is
+ * counted against a single shared overflow bucket instead of growing the map. A flood of
+ * addresses therefore costs neither memory nor a scan per request, and new clients are
+ * throttled together rather than refused outright.
+ */
+public class SlidingWindowRateLimiter {
+
+    static final int MAX_COUNT = 0x7FFF;
+    static final long FULL_SCAN_INTERVAL_MILLIS = 1_000;
+    // The overflow bucket admits as many requests as this many separately tracked keys would.
+    static final int OVERFLOW_SHARE = 16;
+
+    // Never a valid state: a real state's current count is at most MAX_COUNT.
+    private static final long EVICTED = -1L;
+    private static final long WINDOW_MASK = 0xFFFFFFFFL;
+
+    private static final int DENIED = 0;
+    private static final int GRANTED = 1;
+    private static final int EVICTED_STATE = -1;
+
+    private final ConcurrentHashMap<String, AtomicLong> windows = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong();
+    private final AtomicLong nextFullScanAt = new AtomicLong(Long.MIN_VALUE);
+    private final int limit;
+    private final int overflowLimit;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::currentTimeMillis);
+    }
+
+    SlidingWindowRateLimiter(int limit, Duration window, int maxKeys, LongSupplier clock) {
+        if (limit < 1 || limit > MAX_COUNT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_COUNT);
+        }
+        this.limit = limit;
+        this.overflowLimit = Math.min(limit * OVERFLOW_SHARE, MAX_COUNT);
+        this.windowMillis = window.toMillis();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        long window = (now / windowMillis) & WINDOW_MASK;
+        long remaining = windowMillis - now % windowMillis;
+
+        while (true) {
+            AtomicLong state = windows.get(key);
+
+            if (state == null) {
+                if (windows.size() >= maxKeys && !(scanIfDue(now) && windows.size() < maxKeys)) {
+                    return acquire(overflow, overflowLimit, window, remaining) == GRANTED;
+                }
+                state = windows.computeIfAbsent(key, k -> new AtomicLong(pack(window, 0, 0)));
+            }
+
+            int result = acquire(state, limit, window, remaining);
+
+            if (result != EVICTED_STATE) {
+                return result == GRANTED;
+            }
+            windows.remove(key, state);
+        }
+    }
+
+    public int evictIdle() {
+        long window = (clock.getAsLong() / windowMillis) & WINDOW_MASK;
+        long previousWindow = (window - 1) & WINDOW_MASK;
+        int evicted = 0;
+
+        for (var entry : windows.entrySet()) {
+            AtomicLong state = entry.getValue();
+            long current = state.get();
+            long storedWindow = current >>> 32;
+
+            if (current != EVICTED && storedWindow != window && storedWindow != previousWindow
+                    && state.compareAndSet(current, EVICTED)) {
+                windows.remove(entry.getKey(), state);
+                evicted++;
+            }
+        }
+
+        return evicted;
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    private int acquire(AtomicLong state, int limit, long window, long remaining) {
+        while (true) {
+            long current = state.get();
+
+            if (current == EVICTED) {
+                return EVICTED_STATE;
+            }
+
+            long storedWindow = current >>> 32;
+            long previousCount;
+            long currentCount;
+
+            if (storedWindow == window) {
+                previousCount = (current >>> 16) & MAX_COUNT;
+                currentCount = current & MAX_COUNT;
+            } else if (storedWindow == ((window - 1) & WINDOW_MASK)) {
+                previousCount = current & MAX_COUNT;
+                currentCount = 0;
+            } else {
+                previousCount = 0;
+                currentCount = 0;
+            }
+
+            // previous * (remaining / window) + current < limit, kept in integer arithmetic
+            if (previousCount * remaining + currentCount * windowMillis >= limit * windowMillis) {
+                return DENIED;
+            }
+
+            if (state.compareAndSet(current, pack(window, previousCount, currentCount + 1))) {
+                return GRANTED;
+            }
+        }
+    }
+
+    // Only the caller that wins the CAS scans; everyone else goes straight to the overflow bucket.
+    private boolean scanIfDue(long now) {
+        long due = nextFullScanAt.get();
+
+        if (now < due || !nextFullScanAt.compareAndSet(due, now + FULL_SCAN_INTERVAL_MILLIS)) {
+            return false;
+        }
+
+        evictIdle();
+        return true;
+    }
+
+    private static long pack(long window, long previousCount, long currentCount) {
+        return window << 32 | previousCount << 16 | currentCount;
+    }
+}
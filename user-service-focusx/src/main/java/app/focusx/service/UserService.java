@@ -8,6 +8,7 @@ import app.focusx.model.UserRole;
 import app.focusx.model.UserStatus;
 import app.focusx.repository.UserRepository;
 import app.focusx.security.AuthenticationMetadata;
+import app.focusx.security.UserRevocations;
 import app.focusx.web.dto.LoginRequest;
 import app.focusx.web.dto.RegisterRequest;
 import app.focusx.web.dto.UserResponse;
@@ -18,14 +19,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +43,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import java.time.*;
 import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -40,24 +51,28 @@ import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final VerificationService verificationService;
 
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
     private final RedisTemplate<String, String> redisTemplate;
 
     private final ApplicationEventPublisher eventPublisher;
+    private final UserRevocations userRevocations;
+    private final MongoTemplate mongoTemplate;
 
 
-    public UserService(UserRepository userRepository, AuthenticationManager authenticationManager, VerificationService verificationService, RedisTemplate<String, String> redisTemplate, ApplicationEventPublisher eventPublisher) {
+    public UserService(UserRepository userRepository, AuthenticationManager authenticationManager, VerificationService verificationService, RedisTemplate<String, String> redisTemplate, ApplicationEventPublisher eventPublisher, UserRevocations userRevocations, PasswordEncoder encoder, MongoTemplate mongoTemplate) {
         this.userRepository = userRepository;
         this.authenticationManager = authenticationManager;
         this.verificationService = verificationService;
         this.redisTemplate = redisTemplate;
         this.eventPublisher = eventPublisher;
-        this.encoder = new BCryptPasswordEncoder(12);
+        this.userRevocations = userRevocations;
+        this.mongoTemplate = mongoTemplate;
+        this.encoder = encoder;
     }
 
     @Override
@@ -104,7 +119,7 @@ public class UserService implements UserDetailsService {
         user.setStatus(UserStatus.VERIFIED);
         userRepository.save(user);
 
-        eventPublisher.publishEvent(new VerifiedUserEvent(user.getUsername(), user.getEmail()));
+        eventPublisher.publishEvent(new VerifiedUserEvent(user.getId(), user.getUsername(), user.getEmail()));
     }
 
     public void resendVerification(String email) {
@@ -154,6 +169,19 @@ public class UserService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    // Called by the authentication provider after a successful login whose stored hash has a different cost.
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        AuthenticationMetadata authenticationMetadata = (AuthenticationMetadata) userDetails;
+        User user = findById(authenticationMetadata.getUserId());
+
+        user.setPassword(newEncodedPassword);
+        userRepository.save(user);
+
+        authenticationMetadata.setPassword(newEncodedPassword);
+        return authenticationMetadata;
+    }
+
     @CacheEvict(value = "users", key = "#userId")
     public void deactivate(String userId) {
         User user = findById(UUID.fromString(userId));
@@ -165,6 +193,7 @@ public class UserService implements UserDetailsService {
         user.setActive(false);
         user.setDeletedAt(LocalDateTime.now());
         userRepository.save(user);
+        userRevocations.revoke(userId);
     }
 
     @Transactional
@@ -189,13 +218,35 @@ public class UserService implements UserDetailsService {
         return validateStreak(id, timezone);
     }
 
+    /**
+     * Counts today towards the streak in one conditional findAndModify: it only matches while
+     * the streak has not been counted yet on the user's local day, so concurrent or replayed
+     * events increment at most once. A lapsed streak is reset here rather than on read.
+     */
     @CacheEvict(value = "streaks", key = "#id")
-    public long incrementStreak(String id) {
-        User user = getById(UUID.fromString(id));
-        user.setStreak(user.getStreak() + 1);
-        user.setLastUpdatedStreak(Instant.now());
+    public long incrementStreak(String id, String timezone) {
+        ZoneId userZone = timezone != null ? ZoneId.of(timezone) : ZoneOffset.UTC;
+        LocalDate today = LocalDate.now(userZone);
+        Date startOfToday = Date.from(today.atStartOfDay(userZone).toInstant());
+        Date startOfYesterday = Date.from(today.minusDays(1).atStartOfDay(userZone).toInstant());
+
+        Query notCountedToday = Query.query(Criteria.where("_id").is(id)
+                .orOperator(Criteria.where("lastUpdatedStreak").is(null), Criteria.where("lastUpdatedStreak").lt(startOfToday)));
+
+        AggregationUpdate increment = AggregationUpdate.update()
+                .set("streak").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("lastUpdatedStreak").greaterThanEqualToValue(startOfYesterday))
+                        .then(ArithmeticOperators.valueOf("streak").add(1))
+                        .otherwise(1))
+                .set("lastUpdatedStreak").toValue(new Date());
+
+        User updated = mongoTemplate.findAndModify(notCountedToday, increment, FindAndModifyOptions.options().returnNew(true), User.class);
+
+        if (updated != null) {
+            return updated.getStreak();
+        }
 
-        return userRepository.save(user).getStreak();
+        return getById(UUID.fromString(id)).getStreak();
     }
 
     public User getById(UUID userId) {
@@ -219,7 +270,7 @@ public class UserService implements UserDetailsService {
 
     private void sendVerification(User user) {
         String verificationCode = verificationService.generateVerificationCode(user.getId());
-        eventPublisher.publishEvent(new RegisterEvent(verificationCode, user.getEmail()));
+        eventPublisher.publishEvent(new RegisterEvent(user.getId(), verificationCode, user.getEmail()));
     }
 
     private long validateStreak(String id, String timezone) {
@@ -231,23 +282,20 @@ public class UserService implements UserDetailsService {
         }
 
         User user = getById(UUID.fromString(id));
-        Instant lastUpdatedStreak = user.getLastUpdatedStreak();
+        long streak = isStreakLapsed(user.getLastUpdatedStreak(), ZoneId.of(timezone)) ? 0 : user.getStreak();
 
-        if (lastUpdatedStreak != null) {
-            ZoneId userZone = ZoneId.of(timezone);
-
-            ZonedDateTime lastUpdatedZoned = lastUpdatedStreak.atZone(ZoneOffset.UTC).withZoneSameInstant(userZone).toLocalDate().atStartOfDay(userZone);
-
-            ZonedDateTime startOfToday = ZonedDateTime.now(userZone).toLocalDate().atStartOfDay(userZone);
+        cacheWithCustomTTL(id, streak, timezone);
+        return streak;
+    }
 
-            if (lastUpdatedZoned.isBefore(startOfToday.minusDays(1))) {
-                user.setStreak(0);
-                userRepository.save(user);
-            }
+    // A streak survives as long as the last session was today or yesterday in the user's zone.
+    private static boolean isStreakLapsed(Instant lastUpdatedStreak, ZoneId userZone) {
+        if (lastUpdatedStreak == null) {
+            return false;
         }
 
-        cacheWithCustomTTL(id, user.getStreak(), timezone);
-        return user.getStreak();
+        LocalDate lastUpdatedDay = lastUpdatedStreak.atZone(userZone).toLocalDate();
+        return lastUpdatedDay.isBefore(LocalDate.now(userZone).minusDays(1));
     }
 
     private void cacheWithCustomTTL(String userId, Long streak, String timezone) {
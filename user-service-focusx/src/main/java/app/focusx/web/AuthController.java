@@ -81,7 +81,8 @@ public class AuthController {
             description = "Verifies user credentials and sets access and refresh token.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Login successful, tokens set"),
-                    @ApiResponse(responseCode = "401", description = "Invalid username or password")
+                    @ApiResponse(responseCode = "401", description = "Invalid username or password"),
+                    @ApiResponse(responseCode = "503", description = "Password hashing is saturated; retry after the Retry-After delay")
             }
     )
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
@@ -109,7 +110,7 @@ public class AuthController {
             if (userId != null) {
                 User user = userService.getById(UUID.fromString(userId));
 
-                String newAccessToken = jwtService.generateAccessToken(UUID.fromString(user.getId()), user.getRole().toString());
+                String newAccessToken = jwtService.generateAccessToken(UUID.fromString(user.getId()), user.getUsername(), user.getRole().toString());
 
                 return ResponseEntity.ok()
                         .body(Map.of("access_token", newAccessToken));
@@ -158,7 +159,7 @@ public class AuthController {
     }
 
     private ResponseEntity<Map<String, String>> buildAuthResponse(User user) {
-        String accessToken = jwtService.generateAccessToken(UUID.fromString(user.getId()), user.getRole().toString());
+        String accessToken = jwtService.generateAccessToken(UUID.fromString(user.getId()), user.getUsername(), user.getRole().toString());
         String refreshToken = jwtService.generateRefreshToken(UUID.fromString(user.getId()), user.getRole().toString());
 
 
@@ -0,0 +1,16 @@
+-- KEYS[1]: counter of the current window, KEYS[2]: counter of the previous window
+-- ARGV[1]: limit, ARGV[2]: window length in ms, ARGV[3]: ms left in the current window
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local remaining = tonumber(ARGV[3])
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+if previous * remaining + current * window >= limit * window then
+    return 0
+end
+
+redis.call('INCR', KEYS[1])
+redis.call('PEXPIRE', KEYS[1], window * 2)
+return 1
@@ -1,10 +1,9 @@
 package app.focusx;
 
-import app.focusx.model.User;
 import app.focusx.model.UserRole;
-import app.focusx.security.AuthenticationMetadata;
 import app.focusx.security.JwtService;
-import app.focusx.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import lombok.experimental.UtilityClass;
 
 import java.util.UUID;
@@ -17,18 +16,13 @@ public class MockUtils {
 
 
 
-    public void mockJwtFilterAuthentication(UserService userService, JwtService jwtService) {
-        UUID userId = UUID.randomUUID();
-        User user = User.builder()
-                .id(userId.toString())
-                .username("testuser")
-                .role(UserRole.USER)
+    public void mockJwtFilterAuthentication(JwtService jwtService) {
+        Claims claims = Jwts.claims()
+                .subject(UUID.randomUUID().toString())
+                .add(JwtService.USERNAME_CLAIM, "tester")
+                .add(JwtService.ROLE_CLAIM, UserRole.USER.name())
                 .build();
 
-        when(userService.getById(any(UUID.class))).thenReturn(user);
-
-        when(jwtService.extractUserId(any())).thenReturn(userId.toString());
-        when(jwtService.validateToken(any(), any())).thenReturn(true);
-        when(userService.loadUserByUsername("testuser")).thenReturn(new AuthenticationMetadata(userId, "testuser", "123456", UserRole.USER, true));
+        when(jwtService.parseClaims(any())).thenReturn(claims);
     }
 }
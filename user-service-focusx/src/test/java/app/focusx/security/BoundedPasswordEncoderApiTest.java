@@ -0,0 +1,144 @@
+package app.focusx.security;
+
+import app.focusx.exception.PasswordHashingBusyException;
+import app.focusx.service.UserService;
+import app.focusx.web.AuthController;
+import app.focusx.web.advice.ExceptionAdvice;
+import app.focusx.web.dto.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Drives a login through a real DaoAuthenticationProvider, so the status reflects whatever the provider
+// does with a rejection from the hashing pool.
+public class BoundedPasswordEncoderApiTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void givenSaturatedHashingPool_whenLoginWithUnknownUser_thenReturnsServiceUnavailable() throws Exception {
+        saturate();
+
+        MockMvc mockMvc = loginMvc(username -> {
+            throw new UsernameNotFoundException("User not found");
+        });
+
+        mockMvc.perform(login())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void givenSaturatedHashingPool_whenLoginWithKnownUser_thenReturnsServiceUnavailable() throws Exception {
+        String storedHash = new BCryptPasswordEncoder(4).encode("secret");
+        saturate();
+
+        MockMvc mockMvc = loginMvc(username -> User.withUsername(username).password(storedHash).build());
+
+        mockMvc.perform(login())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void givenRejectionWrappedByProvider_whenLogin_thenReturnsServiceUnavailable() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 4, meterRegistry, 1, 1);
+
+        MockMvc mockMvc = loginMvc(username -> {
+            throw new PasswordHashingBusyException("Too many sign-in requests right now. Please try again shortly.");
+        });
+
+        mockMvc.perform(login())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    // Occupies the single hashing thread and the single queue slot.
+    private void saturate() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 4, meterRegistry, 1, 1);
+
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("executor.active").gauge().value() == 1);
+        CompletableFuture.runAsync(() -> encoder.encode("second"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("executor.queued").gauge().value() == 1);
+    }
+
+    private MockMvc loginMvc(UserDetailsService userDetailsService) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(userDetailsService);
+        ProviderManager authenticationManager = new ProviderManager(provider);
+
+        UserService userService = mock(UserService.class);
+        when(userService.login(any(LoginRequest.class))).thenAnswer(invocation -> {
+            LoginRequest request = invocation.getArgument(0);
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+            throw new IllegalStateException("Authentication should not succeed while the pool is saturated");
+        });
+
+        return MockMvcBuilders.standaloneSetup(new AuthController(userService, mock(JwtService.class)))
+                .setControllerAdvice(new ExceptionAdvice())
+                .build();
+    }
+
+    private static RequestBuilder login() throws Exception {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(new LoginRequest("alice", "wrong-password")));
+    }
+
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+}
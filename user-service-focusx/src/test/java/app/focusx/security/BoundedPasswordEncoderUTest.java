@@ -0,0 +1,115 @@
+package app.focusx.security;
+
+import app.focusx.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedPasswordEncoderUTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void givenFreeHashingThread_whenEncodeAndMatch_thenDelegatesAndRecordsTimings() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 4, meterRegistry, 1, 1);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue.wait").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenSaturatedPoolAndQueue_whenEncode_thenRejectsWithoutWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 4, meterRegistry, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("executor.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("executor.queued").gauge().value() == 1);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("third"));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+    }
+
+    @Test
+    void givenHashWithLowerCost_whenUpgradeEncoding_thenRequestsRehashOnlyUpwards() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 5, meterRegistry, 1, 1);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+    }
+
+    @Test
+    void givenConfiguredCostLowered_whenStrongerHashLogsIn_thenKeepsItAndWritesNewHashesAtLowerCost() {
+        String strongerHash = new BCryptPasswordEncoder(6).encode("secret");
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 4, meterRegistry, 1, 1);
+
+        assertThat(encoder.matches("secret", strongerHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(strongerHash)).isFalse();
+        assertThat(BCryptCost.of(encoder.encode("secret"))).isEqualTo(4);
+    }
+
+    @Test
+    void givenCalibrationRecommendsOtherCost_whenEncoding_thenConfiguredCostIsStillUsed() {
+        encoder = new BoundedPasswordEncoder(meterRegistry, 1, 1, 4, 1);
+
+        assertThat(BCryptCost.of(encoder.encode("secret"))).isEqualTo(4);
+        assertThat(meterRegistry.get("password.hashing.cost").gauge().value()).isEqualTo(4);
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(BCryptCost.MIN_COST).encode("secret"))).isFalse();
+    }
+
+    @Test
+    void givenMinimumCostTiming_whenCalibrating_thenPicksHighestCostWithinTarget() {
+        assertThat(BCryptCost.forTarget(Duration.ofMillis(250), Duration.ofMillis(60))).isEqualTo(12);
+        assertThat(BCryptCost.forTarget(Duration.ofMillis(250), Duration.ofMillis(400))).isEqualTo(BCryptCost.MIN_COST);
+        assertThat(BCryptCost.forTarget(Duration.ofSeconds(60), Duration.ofMillis(1))).isEqualTo(BCryptCost.MAX_COST);
+    }
+
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package app.focusx.security;
+
+import app.focusx.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtFilterUTest {
+
+    @Test
+    void givenUsernameClaim_whenToPrincipal_thenCarriesUsernameAndRole() {
+        UUID userId = UUID.randomUUID();
+        Claims claims = Jwts.claims()
+                .subject(userId.toString())
+                .add(JwtService.USERNAME_CLAIM, "tester")
+                .add(JwtService.ROLE_CLAIM, UserRole.ADMIN.name())
+                .build();
+
+        AuthenticationMetadata principal = JwtFilter.toPrincipal(claims);
+
+        assertThat(principal.getUserId()).isEqualTo(userId);
+        assertThat(principal.getUsername()).isEqualTo("tester");
+        assertThat(principal.getRole()).isEqualTo(UserRole.ADMIN);
+        assertThat(principal.isActive()).isTrue();
+    }
+
+    @Test
+    void givenTokenWithoutUsernameClaim_whenToPrincipal_thenFallsBackToUserId() {
+        UUID userId = UUID.randomUUID();
+        Claims claims = Jwts.claims()
+                .subject(userId.toString())
+                .add(JwtService.ROLE_CLAIM, UserRole.USER.name())
+                .build();
+
+        assertThat(JwtFilter.toPrincipal(claims).getUsername()).isEqualTo(userId.toString());
+    }
+}
@@ -0,0 +1,95 @@
+package app.focusx.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserRevocationsUTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private UserRevocations userRevocations;
+
+    @BeforeEach
+    void setUp() {
+        userRevocations = new UserRevocations(redisTemplate, 60_000, 100);
+    }
+
+    @Test
+    void givenActiveUser_whenCheckedRepeatedly_thenRedisIsAskedOnce() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.hasKey("revoked-user::" + userId)).thenReturn(false);
+
+        assertThat(userRevocations.isRevoked(userId)).isFalse();
+        assertThat(userRevocations.isRevoked(userId)).isFalse();
+
+        verify(redisTemplate, times(1)).hasKey("revoked-user::" + userId);
+    }
+
+    @Test
+    void givenCachedActiveUser_whenRevoked_thenIsRevokedImmediately() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.hasKey("revoked-user::" + userId)).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        assertThat(userRevocations.isRevoked(userId)).isFalse();
+
+        userRevocations.revoke(userId);
+
+        assertThat(userRevocations.isRevoked(userId)).isTrue();
+        verify(valueOperations).set("revoked-user::" + userId, "1", JwtService.REFRESH_TOKEN_TTL);
+    }
+
+    @Test
+    void givenRedisUnavailable_whenChecked_thenFailsOpenWithoutCachingTheAnswer() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.hasKey("revoked-user::" + userId))
+                .thenThrow(new RedisConnectionFailureException("Redis unavailable"))
+                .thenReturn(true);
+
+        assertThat(userRevocations.isRevoked(userId)).isFalse();
+        assertThat(userRevocations.isRevoked(userId)).isTrue();
+    }
+
+    @Test
+    void givenRedisUnavailable_whenRevoked_thenThisNodeStillRejectsTheUser() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Redis unavailable"))
+                .when(valueOperations).set("revoked-user::" + userId, "1", JwtService.REFRESH_TOKEN_TTL);
+
+        assertThrows(RedisConnectionFailureException.class, () -> userRevocations.revoke(userId));
+
+        assertThat(userRevocations.isRevoked(userId)).isTrue();
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void givenUserRevokedOnAnotherNode_whenChecked_thenReadsMarkerFromRedis() {
+        String userId = UUID.randomUUID().toString();
+
+        when(redisTemplate.hasKey("revoked-user::" + userId)).thenReturn(true);
+
+        assertThat(userRevocations.isRevoked(userId)).isTrue();
+    }
+}
@@ -1,41 +1,112 @@
 package app.focusx.service;
 
+import app.focusx.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class IpRateLimiterServiceUTest {
-    @InjectMocks
+
+    @Mock
+    private ObjectProvider<RedisRateLimiter> redisRateLimiterProvider;
+
+    @Mock
+    private RedisRateLimiter redisRateLimiter;
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
     private IpRateLimiterService service;
 
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Policy register = new RateLimitProperties.Policy();
+        register.setPath("/api/auth/register");
+        register.setLimit(3);
+        register.setWindow(Duration.ofHours(1));
+        properties.getPolicies().put("register", register);
+    }
+
+    @Test
+    void givenConfiguredPath_whenPolicyFor_thenReturnsPolicyName() {
+        service = new IpRateLimiterService(properties, redisRateLimiterProvider);
+
+        assertThat(service.policyFor("/api/auth/register")).contains("register");
+        assertThat(service.policyFor("/api/users/me")).isEmpty();
+    }
+
+    @Test
+    void givenDisabledPolicy_whenPolicyFor_thenPathIsNotLimited() {
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setEnabled(false);
+        login.setPath("/api/auth/login");
+        login.setLimit(10);
+        login.setWindow(Duration.ofMinutes(15));
+        properties.getPolicies().put("login", login);
+
+        service = new IpRateLimiterService(properties, redisRateLimiterProvider);
+
+        assertThat(service.policyFor("/api/auth/login")).isEmpty();
+        assertThat(service.policyFor("/api/auth/register")).contains("register");
+    }
+
     @Test
     void givenIpWithLessThanMaxAttempts_whenCheck_thenAllowed() {
+        service = new IpRateLimiterService(properties, redisRateLimiterProvider);
         String ip = "192.168.0.1";
 
-        service.isAllowed(ip);
-        service.isAllowed(ip);
+        service.isAllowed("register", ip);
+        service.isAllowed("register", ip);
 
-        boolean allowed = service.isAllowed(ip);
+        boolean allowed = service.isAllowed("register", ip);
 
         assertTrue(allowed);
     }
 
     @Test
     void givenIpWithMaxAttempts_whenCheck_thenDenied() {
+        service = new IpRateLimiterService(properties, redisRateLimiterProvider);
         String ip = "10.0.0.1";
 
-        service.isAllowed(ip);
-        service.isAllowed(ip);
-        service.isAllowed(ip);
+        service.isAllowed("register", ip);
+        service.isAllowed("register", ip);
+        service.isAllowed("register", ip);
 
-        boolean allowed = service.isAllowed(ip);
+        boolean allowed = service.isAllowed("register", ip);
 
         assertFalse(allowed);
     }
 
+    @Test
+    void givenDistributedMode_whenRedisAnswers_thenRedisDecides() {
+        when(redisRateLimiterProvider.getIfAvailable()).thenReturn(redisRateLimiter);
+        when(redisRateLimiter.tryAcquire("register", "10.0.0.1", 3, Duration.ofHours(1))).thenReturn(Optional.of(false));
+        service = new IpRateLimiterService(properties, redisRateLimiterProvider);
+
+        assertFalse(service.isAllowed("register", "10.0.0.1"));
+    }
+
+    @Test
+    void givenDistributedMode_whenRedisUnavailable_thenFallsBackToLocalLimiter() {
+        when(redisRateLimiterProvider.getIfAvailable()).thenReturn(redisRateLimiter);
+        when(redisRateLimiter.tryAcquire(anyString(), anyString(), anyInt(), any(Duration.class))).thenReturn(Optional.empty());
+        service = new IpRateLimiterService(properties, redisRateLimiterProvider);
+
+        assertTrue(service.isAllowed("register", "10.0.0.1"));
+        assertTrue(service.isAllowed("register", "10.0.0.1"));
+        assertTrue(service.isAllowed("register", "10.0.0.1"));
+        assertFalse(service.isAllowed("register", "10.0.0.1"));
+    }
+
 }
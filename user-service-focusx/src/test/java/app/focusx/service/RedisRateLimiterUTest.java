@@ -0,0 +1,75 @@
+package app.focusx.service;
+
+import app.focusx.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisRateLimiterUTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(WINDOW.toMillis() * 500 + 1_000);
+
+    private RedisRateLimiter redisRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRedisTimeout(Duration.ofMillis(20));
+        properties.setRedisBackoff(Duration.ofSeconds(5));
+        redisRateLimiter = new RedisRateLimiter(redisTemplate, properties, meterRegistry, now::get);
+    }
+
+    @Test
+    void givenScriptAllows_whenTryAcquire_thenUsesCurrentAndPreviousWindowKeys() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        assertThat(redisRateLimiter.tryAcquire("register", "10.0.0.1", 3, WINDOW)).contains(true);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("rate-limit::{register::10.0.0.1}::500", "rate-limit::{register::10.0.0.1}::499")),
+                eq(List.of("3", String.valueOf(WINDOW.toMillis()), String.valueOf(WINDOW.toMillis() - 1_000))));
+    }
+
+    @Test
+    void givenScriptDenies_whenTryAcquire_thenReturnsFalse() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(0L));
+
+        assertThat(redisRateLimiter.tryAcquire("login", "10.0.0.1", 10, WINDOW)).contains(false);
+    }
+
+    @Test
+    void givenSlowRedis_whenTryAcquire_thenFallsBackAndSkipsRedisDuringBackoff() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.never());
+
+        assertThat(redisRateLimiter.tryAcquire("login", "10.0.0.1", 10, WINDOW)).isEmpty();
+        assertThat(redisRateLimiter.tryAcquire("login", "10.0.0.1", 10, WINDOW)).isEmpty();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+
+        now.addAndGet(Duration.ofSeconds(6).toMillis());
+        redisRateLimiter.tryAcquire("login", "10.0.0.1", 10, WINDOW);
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+        assertThat(meterRegistry.get("rate.limit.redis.fallback").counter().count()).isEqualTo(3);
+    }
+}
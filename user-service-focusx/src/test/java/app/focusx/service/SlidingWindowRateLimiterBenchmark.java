@@ -0,0 +1,55 @@
+package app.focusx.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the limiter under contention: every thread hammering one address, and
+ * threads spread over many addresses. Run with
+ * {@code java -cp <test classpath> app.focusx.service.SlidingWindowRateLimiterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SlidingWindowRateLimiterBenchmark {
+
+    private static final int ADDRESSES = 65_536;
+
+    private SlidingWindowRateLimiter limiter;
+    private String[] addresses;
+
+    @Setup
+    public void setup() {
+        limiter = new SlidingWindowRateLimiter(SlidingWindowRateLimiter.MAX_COUNT, Duration.ofMillis(10), ADDRESSES * 2);
+        addresses = new String[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            addresses[i] = "10." + (i >> 8 & 0xFF) + "." + (i & 0xFF) + ".1";
+        }
+    }
+
+    @Benchmark
+    public boolean sameAddress() {
+        return limiter.tryAcquire(addresses[0]);
+    }
+
+    @Benchmark
+    public boolean spreadAddresses() {
+        return limiter.tryAcquire(addresses[ThreadLocalRandom.current().nextInt(ADDRESSES)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SlidingWindowRateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package app.focusx.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SlidingWindowRateLimiterUTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong(WINDOW.toMillis() * 1_000);
+
+    @Test
+    void givenLimitReachedInWindow_whenAcquire_thenDenied() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 100, now::get);
+
+        assertThat(limiter.tryAcquire("ip")).isTrue();
+        assertThat(limiter.tryAcquire("ip")).isTrue();
+        assertThat(limiter.tryAcquire("ip")).isTrue();
+        assertThat(limiter.tryAcquire("ip")).isFalse();
+        assertThat(limiter.tryAcquire("other-ip")).isTrue();
+    }
+
+    @Test
+    void givenFullPreviousWindow_whenWindowSlides_thenPreviousCountDecays() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, WINDOW, 100, now::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("ip");
+        }
+
+        now.addAndGet(WINDOW.toMillis() / 4);
+        assertThat(limiter.tryAcquire("ip")).isFalse();
+
+        // Halfway into the next window: 4 * 0.5 = 2 of 4 still used.
+        now.addAndGet(WINDOW.toMillis() * 5 / 4);
+        assertThat(limiter.tryAcquire("ip")).isTrue();
+        assertThat(limiter.tryAcquire("ip")).isTrue();
+        assertThat(limiter.tryAcquire("ip")).isFalse();
+    }
+
+    @Test
+    void givenKeysIdleForTwoWindows_whenEvictIdle_thenOnlyIdleKeysAreDropped() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 100, now::get);
+        limiter.tryAcquire("idle");
+
+        now.addAndGet(WINDOW.toMillis() * 2);
+        limiter.tryAcquire("active");
+
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("idle")).isTrue();
+    }
+
+    @Test
+    void givenMaxKeysTracked_whenNewKeyArrives_thenSharesOverflowBucketUntilIdleKeysEvicted() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, WINDOW, 2, now::get);
+        limiter.tryAcquire("first");
+        limiter.tryAcquire("second");
+
+        assertThat(limiter.tryAcquire("third")).isTrue();
+        assertThat(limiter.tryAcquire("first")).isFalse();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        now.addAndGet(WINDOW.toMillis() * 2);
+        assertThat(limiter.tryAcquire("third")).isTrue();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenFullMapOfActiveKeys_whenFloodOfNewKeys_thenScansOncePerIntervalAndCapsOverflow() {
+        SlidingWindowRateLimiter limiter = spy(new SlidingWindowRateLimiter(2, WINDOW, 100, now::get));
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("active-" + i);
+        }
+
+        int granted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (limiter.tryAcquire("flood-" + i)) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isEqualTo(2 * SlidingWindowRateLimiter.OVERFLOW_SHARE);
+        assertThat(limiter.size()).isEqualTo(100);
+        verify(limiter, times(1)).evictIdle();
+
+        now.addAndGet(SlidingWindowRateLimiter.FULL_SCAN_INTERVAL_MILLIS);
+        limiter.tryAcquire("flood-next");
+        verify(limiter, times(2)).evictIdle();
+    }
+
+    @Test
+    void givenConcurrentCallersOnOneKey_whenAcquire_thenExactlyLimitSucceed() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(100, WINDOW, 100, now::get);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    if (limiter.tryAcquire("ip")) {
+                        granted.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+}
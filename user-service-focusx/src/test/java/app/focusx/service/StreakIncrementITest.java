@@ -0,0 +1,112 @@
+package app.focusx.service;
+
+import app.focusx.model.User;
+import app.focusx.repository.UserRepository;
+import app.focusx.security.UserRevocations;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+public class StreakIncrementITest {
+
+    private static final String MONGO_URI = "mongodb://localhost:27017/?serverSelectionTimeoutMS=1000";
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private UserService userService;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(MONGO_URI);
+
+        try {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            client.close();
+            assumeTrue(false, "MongoDB is not reachable on localhost:27017");
+        }
+
+        mongoTemplate = new MongoTemplate(client, "testdb");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (mongoTemplate != null) {
+            mongoTemplate.dropCollection(User.class);
+            client.close();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(User.class);
+        userService = new UserService(mock(UserRepository.class), mock(AuthenticationManager.class), mock(VerificationService.class),
+                mock(RedisTemplate.class), mock(ApplicationEventPublisher.class), mock(UserRevocations.class),
+                mock(PasswordEncoder.class), mongoTemplate);
+    }
+
+    @Test
+    void givenConcurrentEventsOnTheSameDay_whenIncrementStreak_thenCountsTheDayOnce() throws Exception {
+        String id = insertUser(4, Instant.now().minus(1, ChronoUnit.DAYS));
+
+        List<Callable<Long>> increments = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            increments.add(() -> userService.incrementStreak(id, "UTC"));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            executor.invokeAll(increments);
+        }
+
+        assertThat(mongoTemplate.findById(id, User.class).getStreak()).isEqualTo(5);
+    }
+
+    @Test
+    void givenLapsedStreak_whenIncrementStreak_thenRestartsFromOne() {
+        String id = insertUser(9, Instant.now().minus(3, ChronoUnit.DAYS));
+
+        assertThat(userService.incrementStreak(id, "UTC")).isEqualTo(1);
+    }
+
+    @Test
+    void givenNoStreakYet_whenIncrementStreak_thenStartsAtOne() {
+        String id = insertUser(0, null);
+
+        assertThat(userService.incrementStreak(id, "UTC")).isEqualTo(1);
+        assertThat(mongoTemplate.findById(id, User.class).getLastUpdatedStreak()).isNotNull();
+    }
+
+    private String insertUser(long streak, Instant lastUpdatedStreak) {
+        String id = UUID.randomUUID().toString();
+        mongoTemplate.insert(User.builder()
+                .id(id)
+                .username("user-" + id)
+                .email(id + "@example.com")
+                .streak(streak)
+                .lastUpdatedStreak(lastUpdatedStreak)
+                .build());
+        return id;
+    }
+}
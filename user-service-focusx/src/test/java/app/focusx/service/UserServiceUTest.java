@@ -10,6 +10,7 @@ import app.focusx.model.UserRole;
 import app.focusx.model.UserStatus;
 import app.focusx.repository.UserRepository;
 import app.focusx.security.AuthenticationMetadata;
+import app.focusx.security.UserRevocations;
 import app.focusx.web.dto.LoginRequest;
 import app.focusx.web.dto.RegisterRequest;
 import app.focusx.web.dto.UserResponse;
@@ -19,13 +20,20 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.verification.VerificationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -33,6 +41,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +65,12 @@ public class UserServiceUTest {
     private RedisTemplate<String, String> redisTemplate;
     @Mock
     private ValueOperations<String, String> valueOperations;
+    @Mock
+    private UserRevocations userRevocations;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
 
     private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
 
@@ -280,6 +295,21 @@ public class UserServiceUTest {
         assertThrows(PasswordUpdateException.class, () -> userService.updatePassword(id.toString(), "123456", "123456A"));
     }
 
+    @Test
+    void givenRehashedPassword_whenUpdatePasswordFromLogin_thenStoresNewHash() {
+        UUID id = UUID.randomUUID();
+        User user = User.builder().id(id.toString()).password("$2a$10$old").isActive(true).build();
+        AuthenticationMetadata principal = new AuthenticationMetadata(id, "test", "$2a$10$old", UserRole.USER, true);
+
+        when(userRepository.getUserById(id.toString())).thenReturn(Optional.of(user));
+
+        UserDetails updated = userService.updatePassword(principal, "$2a$12$new");
+
+        assertThat(user.getPassword()).isEqualTo("$2a$12$new");
+        assertThat(updated.getPassword()).isEqualTo("$2a$12$new");
+        verify(userRepository).save(user);
+    }
+
     @Test
     void givenHappyPath_whenDeactivate() {
         UUID id = UUID.randomUUID();
@@ -292,6 +322,7 @@ public class UserServiceUTest {
         assertFalse(user.isActive());
         assertNotNull(user.getDeletedAt());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userRevocations).revoke(id.toString());
     }
 
     @Test
@@ -302,6 +333,7 @@ public class UserServiceUTest {
         when(userRepository.getUserById(id.toString())).thenReturn(Optional.of(user));
 
         assertThrows(IllegalArgumentException.class, () -> userService.deactivate(id.toString()));
+        verifyNoInteractions(userRevocations);
     }
 
     @Test
@@ -427,7 +459,7 @@ public class UserServiceUTest {
     }
 
     @Test
-    void getStreak_resetsStreak_whenLastUpdatedMoreThanTwoDaysAgo() {
+    void getStreak_reportsZeroWithoutWriting_whenLastUpdatedMoreThanTwoDaysAgo() {
         String userId = UUID.randomUUID().toString();
 
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
@@ -440,11 +472,9 @@ public class UserServiceUTest {
         long result = userService.getStreak(userId, "UTC");
 
         assertEquals(0L, result);
-
-        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(captor.capture());
-
-        assertEquals(0, captor.getValue().getStreak());
+        assertEquals(5, user.getStreak());
+        verify(userRepository, never()).save(any());
+        verify(valueOperations).set(eq("streaks::" + userId), eq("0"), anyLong(), eq(TimeUnit.MILLISECONDS));
     }
 
     @Test
@@ -465,17 +495,37 @@ public class UserServiceUTest {
     }
 
     @Test
-    void givenHappyPath_whenIncrementStreak() {
-        UUID id = UUID.randomUUID();
-        User user = User.builder().id(id.toString()).streak(2).build();
+    void givenStreakNotCountedToday_whenIncrementStreak_thenConditionallyUpdatesInOneCall() {
+        String id = UUID.randomUUID().toString();
+        User updated = User.builder().id(id).streak(3).build();
 
-        when(userRepository.getUserById(id.toString())).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(updated);
+
+        long streak = userService.incrementStreak(id, "Europe/Bucharest");
 
-        long updatedStreak = userService.incrementStreak(id.toString());
+        assertThat(streak).isEqualTo(3);
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(queryCaptor.capture(), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(User.class));
+        Document filter = queryCaptor.getValue().getQueryObject();
+        assertThat(filter.get("_id")).isEqualTo(id);
+        assertThat(filter.getList("$or", Document.class)).hasSize(2);
+        verify(userRepository, never()).save(any());
+    }
 
-        assertThat(updatedStreak).isEqualTo(user.getStreak());
-        assertNotNull(user.getLastUpdatedStreak());
+    @Test
+    void givenStreakAlreadyCountedToday_whenIncrementStreak_thenReturnsStoredStreak() {
+        String id = UUID.randomUUID().toString();
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(null);
+        when(userRepository.getUserById(id)).thenReturn(Optional.of(User.builder().id(id).streak(4).build()));
+
+        long streak = userService.incrementStreak(id, null);
+
+        assertThat(streak).isEqualTo(4);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
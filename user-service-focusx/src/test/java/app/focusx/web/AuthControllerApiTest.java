@@ -7,6 +7,7 @@ import app.focusx.exception.VerificationException;
 import app.focusx.model.User;
 import app.focusx.model.UserRole;
 import app.focusx.security.JwtService;
+import app.focusx.security.UserRevocations;
 import app.focusx.service.IpRateLimiterService;
 import app.focusx.service.UserService;
 import app.focusx.web.dto.LoginRequest;
@@ -45,6 +46,9 @@ public class AuthControllerApiTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private UserRevocations userRevocations;
+
     @MockitoBean
     private IpRateLimiterService ipRateLimiterService;
 
@@ -53,7 +57,7 @@ public class AuthControllerApiTest {
 
     @Test
     void givenValidRegisterRequest_whenRegister_thenReturnsOk() throws Exception {
-        when(ipRateLimiterService.isAllowed(anyString())).thenReturn(true);
+        when(ipRateLimiterService.isAllowed(anyString(), anyString())).thenReturn(true);
 
         RegisterRequest request = RegisterRequest.builder()
                 .username("testuser")
@@ -70,7 +74,7 @@ public class AuthControllerApiTest {
 
     @Test
     void givenInvalidRegisterRequest_whenRegister_thenReturnsBadRequest() throws Exception {
-        when(ipRateLimiterService.isAllowed(anyString())).thenReturn(true);
+        when(ipRateLimiterService.isAllowed(anyString(), anyString())).thenReturn(true);
 
         RegisterRequest request = RegisterRequest.builder()
                 .username("1")
@@ -89,10 +93,11 @@ public class AuthControllerApiTest {
         LoginRequest request = new LoginRequest("test@test.com", "secret");
         User user = new User();
         user.setId(UUID.randomUUID().toString());
+        user.setUsername("tester");
         user.setRole(UserRole.USER);
 
         when(userService.login(any(LoginRequest.class))).thenReturn(user);
-        when(jwtService.generateAccessToken(any(UUID.class), anyString()))
+        when(jwtService.generateAccessToken(any(UUID.class), anyString(), anyString()))
                 .thenReturn("access-123");
         when(jwtService.generateRefreshToken(any(UUID.class), anyString()))
                 .thenReturn("refresh-123");
@@ -128,12 +133,13 @@ public class AuthControllerApiTest {
 
         User user = User.builder()
                 .id(userId.toString())
+                .username("tester")
                 .role(UserRole.USER)
                 .build();
 
         when(jwtService.extractUserId(refreshToken)).thenReturn(userId.toString());
         when(userService.getById(userId)).thenReturn(user);
-        when(jwtService.generateAccessToken(userId, user.getRole().toString())).thenReturn("new-access-token");
+        when(jwtService.generateAccessToken(userId, "tester", user.getRole().toString())).thenReturn("new-access-token");
 
         mockMvc.perform(post(BASE_API_URL + "/refresh")
                         .cookie(new Cookie("refresh_token", refreshToken)))
@@ -142,7 +148,7 @@ public class AuthControllerApiTest {
 
         verify(jwtService).extractUserId(refreshToken);
         verify(userService).getById(userId);
-        verify(jwtService).generateAccessToken(userId, user.getRole().toString());
+        verify(jwtService).generateAccessToken(userId, "tester", user.getRole().toString());
     }
 
     @Test
@@ -153,7 +159,7 @@ public class AuthControllerApiTest {
 
     @Test
     void givenValidAccessToken_whenGetMe_thenReturnsUserInfo() throws Exception {
-        MockUtils.mockJwtFilterAuthentication(userService, jwtService);
+        MockUtils.mockJwtFilterAuthentication(jwtService);
         String accessToken = "valid-token";
         UUID userId = UUID.randomUUID();
 
@@ -181,7 +187,7 @@ public class AuthControllerApiTest {
 
     @Test
     void logout_shouldClearRefreshTokenCookie() throws Exception {
-        MockUtils.mockJwtFilterAuthentication(userService, jwtService);
+        MockUtils.mockJwtFilterAuthentication(jwtService);
 
         mockMvc.perform(get(BASE_API_URL + "/logout")
                         .header(HttpHeaders.AUTHORIZATION, "Bearer some-access-token"))
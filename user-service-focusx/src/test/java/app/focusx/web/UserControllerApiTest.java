@@ -2,6 +2,7 @@ package app.focusx.web;
 
 import app.focusx.MockUtils;
 import app.focusx.security.JwtService;
+import app.focusx.security.UserRevocations;
 import app.focusx.service.IpRateLimiterService;
 import app.focusx.service.UserService;
 import app.focusx.util.CookieUtils;
@@ -24,6 +25,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -40,6 +42,9 @@ public class UserControllerApiTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private UserRevocations userRevocations;
+
     @MockitoBean
     private IpRateLimiterService ipRateLimiterService;
 
@@ -48,7 +53,7 @@ public class UserControllerApiTest {
 
     @BeforeEach
     public void setup() {
-        MockUtils.mockJwtFilterAuthentication(userService, jwtService);
+        MockUtils.mockJwtFilterAuthentication(jwtService);
     }
 
     @Test
@@ -121,4 +126,16 @@ public class UserControllerApiTest {
 
         verify(userService).getStreak(id, timezone);
     }
+
+    @Test
+    void givenRevokedUser_whenGetStreak_thenReturnsUnauthorized() throws Exception {
+        when(userRevocations.isRevoked(anyString())).thenReturn(true);
+
+        mockMvc.perform(get(BASE_API_URL + "/" + UUID.randomUUID() + "/streak")
+                        .header("timezone", "Europe/Berlin")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer access-token"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userService);
+    }
 }